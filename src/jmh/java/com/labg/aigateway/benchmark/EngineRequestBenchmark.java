@@ -0,0 +1,156 @@
+package com.labg.aigateway.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.labg.aigateway.dto.request.AiEngineRequest;
+import com.labg.aigateway.entity.Message;
+import com.labg.aigateway.service.impl.ContextManagerImpl;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : EngineRequestBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : AI Engine 요청 본문 생성 비용 - 컨텍스트 포맷팅부터 전송 DataBuffer까지
+ *                  typed record + 고정 ObjectWriter + pooled DataBuffer vs 변경 전 Map 컨텍스트 + bodyValue 인코딩
+ *                  할당량 비교는 -Pjmh.profilers=gc (gc.alloc.rate.norm)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineRequestBenchmark {
+
+    private static final String USER_TEXT = "지난 분기 매출 보고서를 요약해 주세요. Please include the main KPIs.";
+    private static final String ASSISTANT_TEXT = "지난 분기 매출은 12% 증가했고 영업비용은 유지되었습니다. "
+            + "Key KPIs: revenue growth, churn, NPS.";
+    private static final String SESSION_ID = "session_3f1c2a9e7b4d4c1e9a550d2f6c8b1e77";
+
+    // 컨텍스트 메시지 수 (기본 최근 10개, 긴 대화 50개)
+    @Param({"10", "50"})
+    private int messages;
+
+    // 운영과 같은 Spring Boot 기본 설정 (JavaTimeModule 등)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    // AiEngineClient와 같은 pooled 버퍼 팩토리 (변경 전 bodyValue 인코딩도 Netty 팩토리로 wrap)
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private ContextManagerImpl contextManager;
+    private ObjectWriter requestWriter;
+    private List<Message> history;
+
+    @Setup
+    public void setUp() {
+        // formatContextForAi는 저장소/토큰 카운터를 사용하지 않음
+        contextManager = new ContextManagerImpl(null, null, null, null);
+        requestWriter = objectMapper.writerFor(AiEngineRequest.class);
+
+        history = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            history.add(i % 2 == 0
+                    ? Message.userMessage(USER_TEXT)
+                    : Message.assistantMessage(ASSISTANT_TEXT, null));
+        }
+    }
+
+    /**
+     * 현재 경로: typed Context → 고정 ObjectWriter로 pooled DataBuffer에 바로 직렬화 (AiEngineClient.jsonBody)
+     */
+    @Benchmark
+    public int typedContext() throws Exception {
+        AiEngineRequest request = AiEngineRequest.builder()
+                .message(USER_TEXT)
+                .sessionId(SESSION_ID)
+                .context(contextManager.formatContextForAi(history))
+                .build();
+
+        DataBuffer buffer = bufferFactory.allocateBuffer(256);
+        try (OutputStream out = buffer.asOutputStream()) {
+            requestWriter.writeValue(out, request);
+            return buffer.readableByteCount();
+        } finally {
+            // 전송 후 Netty가 해제하는 것과 같게 풀에 반환
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * 변경 전 경로: 메시지마다 HashMap + ZoneId 변환 → bodyValue(Jackson2JsonEncoder: byte[] 직렬화 후 wrap)
+     */
+    @Benchmark
+    public int legacyMapContext() throws Exception {
+        LegacyRequest request = new LegacyRequest(USER_TEXT, SESSION_ID, "parallel", legacyFormatContext(history));
+
+        DataBuffer buffer = bufferFactory.wrap(objectMapper.writeValueAsBytes(request));
+        try {
+            return buffer.readableByteCount();
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * 변경 전 ContextManagerImpl.formatContextForAi
+     */
+    private static Map<String, Object> legacyFormatContext(List<Message> messages) {
+        List<Map<String, Object>> messageList = new ArrayList<>();
+        for (Message msg : messages) {
+            Map<String, Object> messageMap = new HashMap<>();
+            messageMap.put("role", Objects.toString(msg.getRole(), ""));
+            messageMap.put("content", Objects.toString(msg.getContent(), ""));
+            messageMap.put("timestamp", msg.getTimestamp() == null
+                    ? 0L
+                    : msg.getTimestamp().atZone(ZoneId.systemDefault()).toEpochSecond());
+            messageList.add(messageMap);
+        }
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("messages", messageList);
+        return context;
+    }
+
+    /**
+     * 변경 전 AiEngineRequest (context가 Map)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record LegacyRequest(
+            String message,
+            @JsonProperty("session_id") String sessionId,
+            String mode,
+            Map<String, Object> context
+    ) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.labg.aigateway.benchmark;
+
+import com.labg.aigateway.filter.JwtAuthenticationFilter;
+import com.labg.aigateway.service.JwtService;
+import com.labg.aigateway.util.JwtSecret;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : JwtFilterBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : JwtAuthenticationFilter 요청당 비용 - 서명 검증(digest 캐시 MISS) vs digest 캐시 HIT
+ *                  변경 전 경로(validateToken + extractUserId + extractUsername, 매번 파서 생성 후 3회 파싱)도 함께 비교
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long-0123456789";
+    private static final String PATH = "/api/chat/query";
+    // 캐시 MISS용 토큰 수 (cold 서비스의 캐시 크기보다 충분히 크게 두어 항상 서명 검증)
+    private static final int COLD_TOKENS = 1024;
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter coldFilter;
+    private String token;
+    private String[] coldTokens;
+    private int coldIndex;
+    private SecretKey secretKey;
+
+    @Setup
+    public void setUp() {
+        JwtSecret jwtSecret = new JwtSecret();
+        jwtSecret.setSecretKey(SECRET);
+        jwtSecret.setAccessTokenExpTime(3_600_000L);
+
+        JwtService cachedService = jwtService(jwtSecret, 10_000);
+        cachedFilter = new JwtAuthenticationFilter(cachedService);
+        token = cachedService.generateToken("user-1", "tester");
+        // digest 캐시 적재
+        cachedService.verify(token);
+
+        JwtService coldService = jwtService(jwtSecret, 1);
+        coldFilter = new JwtAuthenticationFilter(coldService);
+        coldTokens = new String[COLD_TOKENS];
+        for (int i = 0; i < COLD_TOKENS; i++) {
+            coldTokens[i] = coldService.generateToken("user-" + i, "tester-" + i);
+        }
+
+        secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 최초 요청: 쿠키 추출 → SHA-256 digest → 캐시 MISS → 서명 검증/파싱 → 헤더 설정
+     */
+    @Benchmark
+    public ServerWebExchange coldVerify() {
+        String cold = coldTokens[coldIndex++ & (COLD_TOKENS - 1)];
+        return filter(coldFilter, cold);
+    }
+
+    /**
+     * 같은 토큰의 반복 요청: 쿠키 추출 → SHA-256 digest → 캐시 HIT → 헤더 설정
+     */
+    @Benchmark
+    public ServerWebExchange cachedVerify() {
+        return filter(cachedFilter, token);
+    }
+
+    /**
+     * 변경 전 필터의 토큰 처리: 호출마다 파서를 만들어 검증 1회 + 클레임 추출 2회 (요청/헤더 처리 제외)
+     */
+    @Benchmark
+    public String legacyTripleParse() {
+        boolean valid = parse(token) != null;
+        String userId = parse(token).get("userId", String.class);
+        String username = parse(token).getSubject();
+        return valid ? userId + username : null;
+    }
+
+    private ServerWebExchange filter(JwtAuthenticationFilter filter, String accessToken) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post(PATH).cookie(new HttpCookie("access_token", accessToken)));
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    private Claims parse(String accessToken) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(accessToken)
+                .getPayload();
+    }
+
+    /**
+     * JwtServiceTest와 같은 방식으로 @Value/@PostConstruct 대신 직접 초기화
+     */
+    private static JwtService jwtService(JwtSecret jwtSecret, long verifiedCacheSize) {
+        JwtService jwtService = new JwtService(jwtSecret);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+}
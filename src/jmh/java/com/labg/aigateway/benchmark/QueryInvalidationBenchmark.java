@@ -0,0 +1,143 @@
+package com.labg.aigateway.benchmark;
+
+import com.labg.aigateway.config.RedisConfig;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.service.impl.CacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : QueryInvalidationBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 세션 쿼리 캐시 무효화 지연 - 변경 전 KEYS 패턴 스캔 + 키별 DEL vs 세션별 인덱스 + Lua UNLINK
+ *                  실제 Redis 필요 (기본 localhost:6379 DB 15, 변경: -Pjmh.jvmArgs=-Dbenchmark.redis.host=...,-Dbenchmark.redis.database=...)
+ *                  지정한 DB는 시작/종료 시 FLUSHDB 하므로 운영 Redis/DB에 실행 금지
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QueryInvalidationBenchmark {
+
+    private static final String SESSION_ID = "session_bench";
+    private static final String INVALIDATION_CHANNEL = "cache:invalidate";
+    private static final int LOAD_BATCH = 10_000;
+
+    // 다른 세션의 쿼리 캐시 키 수 (전체 키스페이스 크기)
+    @Param({"1000000"})
+    private int keyspace;
+
+    // 무효화 대상 세션의 쿼리 캐시 키 수
+    @Param({"50"})
+    private int sessionKeys;
+
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    private CacheServiceImpl cacheService;
+    private AiResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                System.getProperty("benchmark.redis.host", "localhost"),
+                Integer.getInteger("benchmark.redis.port", 6379));
+        config.setDatabase(Integer.getInteger("benchmark.redis.database", 15));
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        // 운영과 같은 값 코덱 (인덱스 멤버도 같은 직렬화 형태로 저장됨)
+        redisTemplate = new RedisConfig().reactiveRedisTemplate(connectionFactory, "smile", 2048);
+        flushDb();
+
+        cacheService = new CacheServiceImpl(redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cacheService, "maxSize", 1000L);
+        ReflectionTestUtils.setField(cacheService, "staleGrace", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cacheService, "refreshDelta", Duration.ofSeconds(5));
+        ReflectionTestUtils.invokeMethod(cacheService, "init");
+
+        response = AiResponse.builder().success(true).message("캐시된 답변").sessionId(SESSION_ID).build();
+
+        // 다른 세션들의 쿼리 캐시 키 적재 (MSET 배치)
+        Map<String, Object> batch = new HashMap<>(LOAD_BATCH * 2);
+        for (int i = 0; i < keyspace; i++) {
+            batch.put("query:session_" + (i % 100_000) + ":" + Integer.toHexString(i), "v");
+            if (batch.size() == LOAD_BATCH || i == keyspace - 1) {
+                redisTemplate.opsForValue().multiSet(batch).block();
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 매 측정 전 대상 세션의 쿼리 캐시를 운영 경로(cacheResponse: SET + 인덱스 SADD)로 다시 적재
+     */
+    @Setup(Level.Iteration)
+    public void seedSession() {
+        Flux.range(0, sessionKeys)
+                .concatMap(i -> cacheService.cacheResponse(SESSION_ID, "질문 " + i, response))
+                .blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(cacheService, "destroy");
+        flushDb();
+        connectionFactory.destroy();
+    }
+
+    /**
+     * 변경 전 invalidateQueryCache: KEYS query:{sessionId}:* (전체 키스페이스 O(N) 스캔) → 키별 DEL + 무효화 발행
+     */
+    @Benchmark
+    public Long keysScan() {
+        return redisTemplate.keys("query:" + SESSION_ID + ":*")
+                .flatMap(key -> redisTemplate.delete(key)
+                        .flatMap(count -> redisTemplate.convertAndSend(INVALIDATION_CHANNEL, "benchmark|" + key)
+                                .thenReturn(count)))
+                .reduce(0L, Long::sum)
+                .block();
+    }
+
+    /**
+     * 현재 invalidateQueryCache: 세션 인덱스 SMEMBERS + UNLINK를 Lua 스크립트 한 번으로 처리 (세션 키 수에만 비례)
+     */
+    @Benchmark
+    public Boolean indexedUnlink() {
+        return cacheService.invalidateQueryCache(SESSION_ID).block();
+    }
+
+    private void flushDb() {
+        connectionFactory.getReactiveConnection().serverCommands().flushDb().block();
+    }
+}
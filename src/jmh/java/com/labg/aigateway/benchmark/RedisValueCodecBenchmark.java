@@ -0,0 +1,132 @@
+package com.labg.aigateway.benchmark;
+
+import com.labg.aigateway.config.RedisConfig;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.entity.ChatSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : RedisValueCodecBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : Redis 값 코덱(RedisValueCodec) 비용 - default-typing JSON vs Smile (+ LZ4), 운영과 같은 RedisConfig 설정 사용
+ *                  직렬화 크기(bytes)는 setUp에서 한 번 출력, ns/op는 JMH 결과
+ *                  세션 메시지는 chat_message_buckets에 분리 저장되어 세션 캐시 값에는 포함되지 않음 (메타데이터 + 요약만)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValueCodecBenchmark {
+
+    private static final String ANSWER = "문의하신 보고서 초안은 세 부분으로 나뉩니다. 1) 분기 실적 요약, 2) 주요 지표 변화, 3) 다음 분기 계획. "
+            + "The revenue grew 12% quarter over quarter while operating costs stayed flat. ";
+
+    // cache.codec.format
+    @Param({"json", "smile"})
+    private String format;
+
+    // cache.codec.compress-threshold (0: 압축 안 함)
+    @Param({"0", "2048"})
+    private int compressThreshold;
+
+    // 응답 본문 길이 (문장 반복 수)
+    @Param({"4", "64"})
+    private int sentences;
+
+    private RedisSerializationContext.SerializationPair<Object> pair;
+    private AiResponse response;
+    private ChatSession session;
+    private ByteBuffer encodedResponse;
+    private ByteBuffer encodedSession;
+    private ByteBuffer legacyResponse;
+
+    @Setup
+    public void setUp() {
+        // 연결은 사용하지 않음 (직렬화 설정만 사용)
+        pair = new RedisConfig()
+                .reactiveRedisTemplate(new LettuceConnectionFactory(), format, compressThreshold)
+                .getSerializationContext()
+                .getValueSerializationPair();
+
+        response = AiResponse.builder()
+                .success(true)
+                .message(ANSWER.repeat(sentences))
+                .sessionId("3f1c2a9e-7b4d-4c1e-9a55-0d2f6c8b1e77")
+                .processingTime(1.234)
+                .modeUsed("rag")
+                .build();
+        session = ChatSession.builder()
+                .sessionId("3f1c2a9e-7b4d-4c1e-9a55-0d2f6c8b1e77")
+                .userId("user-1234")
+                .messageCount(42L)
+                .summary(ANSWER.repeat(Math.max(1, sentences / 8)))
+                .summarizedUntilSeq(30L)
+                .createdAt(LocalDateTime.of(2026, 10, 17, 9, 0))
+                .lastAccessedAt(LocalDateTime.of(2026, 10, 17, 12, 30))
+                .build();
+
+        encodedResponse = pair.write(response);
+        encodedSession = pair.write(session);
+        // 코덱 도입 전에 저장된 값 (default-typing JSON)
+        legacyResponse = new RedisConfig()
+                .reactiveRedisTemplate(new LettuceConnectionFactory(), "json", 0)
+                .getSerializationContext()
+                .getValueSerializationPair()
+                .write(response);
+        System.out.printf("%n[%s, threshold=%d, sentences=%d] response: %d bytes, session: %d bytes (legacy JSON response: %d bytes)%n",
+                format, compressThreshold, sentences, encodedResponse.remaining(), encodedSession.remaining(),
+                legacyResponse.remaining());
+    }
+
+    @Benchmark
+    public ByteBuffer writeResponse() {
+        return pair.write(response);
+    }
+
+    @Benchmark
+    public Object readResponse() {
+        return pair.read(encodedResponse.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer writeSession() {
+        return pair.write(session);
+    }
+
+    @Benchmark
+    public Object readSession() {
+        return pair.read(encodedSession.duplicate());
+    }
+
+    /**
+     * 기존 JSON 값 읽기 (형식 전환 후에도 TTL 동안 남아있는 값, MAGIC 바이트 확인 후 JSON으로 복원)
+     */
+    @Benchmark
+    public Object readLegacyResponse() {
+        return pair.read(legacyResponse.duplicate());
+    }
+}
@@ -0,0 +1,117 @@
+package com.labg.aigateway.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labg.aigateway.config.RedisConfig;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.dto.response.CachedResponseBody;
+import com.labg.aigateway.dto.response.ChatResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : ResponseBodyBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : /api/chat/query 캐시 HIT 처리 비용 - AiResponse 복원 + ChatResponse 매핑/직렬화 vs 직렬화된 본문(CachedResponseBody) 그대로 전송
+ *                  Redis 값 복원부터 응답 DataBuffer 생성까지 (네트워크 제외), 할당량은 -Pjmh.profilers=gc
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBodyBenchmark {
+
+    private static final String ANSWER = "문의하신 보고서 초안은 세 부분으로 나뉩니다. 1) 분기 실적 요약, 2) 주요 지표 변화, 3) 다음 분기 계획. "
+            + "The revenue grew 12% quarter over quarter while operating costs stayed flat. ";
+    private static final String SESSION_ID = "session_3f1c2a9e7b4d4c1e9a550d2f6c8b1e77";
+
+    // 응답 본문 길이 (문장 반복 수)
+    @Param({"4", "64"})
+    private int sentences;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    // 운영과 같은 Spring Boot 기본 설정 (JavaTimeModule 등)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private RedisSerializationContext.SerializationPair<Object> pair;
+    private ByteBuffer encodedResponse;
+    private ByteBuffer encodedBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        // 연결은 사용하지 않음 (운영과 같은 Smile 값 코덱만 사용)
+        pair = new RedisConfig()
+                .reactiveRedisTemplate(new LettuceConnectionFactory(), "smile", 2048)
+                .getSerializationContext()
+                .getValueSerializationPair();
+
+        AiResponse response = AiResponse.builder()
+                .success(true)
+                .message(ANSWER.repeat(sentences))
+                .sessionId(SESSION_ID)
+                .processingTime(1.234)
+                .modeUsed("rag")
+                .metadata(new AiResponse.Metadata(0.42, List.of("rag", "web_search"), List.of(
+                        new AiResponse.ToolResult("rag", "분기 보고서 3건 검색", 0.91, 0.35))))
+                .build();
+        byte[] bytes = objectMapper.writeValueAsBytes(toChatResponse(response));
+
+        encodedResponse = pair.write(response);
+        encodedBody = pair.write(new CachedResponseBody(bytes, CachedResponseBody.etagOf(bytes)));
+    }
+
+    /**
+     * 변경 전 HIT 경로: AiResponse 복원 → ChatResponse 매핑 → Jackson 직렬화 → DataBuffer
+     */
+    @Benchmark
+    public DataBuffer mapAndSerialize() throws Exception {
+        AiResponse response = (AiResponse) pair.read(encodedResponse.duplicate());
+        return bufferFactory.wrap(objectMapper.writeValueAsBytes(toChatResponse(response)));
+    }
+
+    /**
+     * 본문 캐시 HIT 경로: CachedResponseBody 복원 → 저장된 바이트를 그대로 DataBuffer로 감쌈
+     */
+    @Benchmark
+    public DataBuffer cachedBody() {
+        CachedResponseBody body = (CachedResponseBody) pair.read(encodedBody.duplicate());
+        return bufferFactory.wrap(body.body());
+    }
+
+    /**
+     * ChatHandler.toResponseBody와 같은 매핑
+     */
+    private static ChatResponse toChatResponse(AiResponse response) {
+        ChatResponse.Metadata metadata = response.getMetadata() == null ? null : ChatResponse.Metadata.builder()
+                .complexityScore(response.getMetadata().getComplexityScore())
+                .selectedTools(response.getMetadata().getSelectedTools())
+                .toolResults(response.getMetadata().getToolResults())
+                .build();
+        return ChatResponse.success(response.getMessage(), SESSION_ID, response.getProcessingTime(), metadata);
+    }
+}
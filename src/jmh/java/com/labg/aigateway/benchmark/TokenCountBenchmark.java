@@ -0,0 +1,89 @@
+package com.labg.aigateway.benchmark;
+
+import com.labg.aigateway.entity.Message;
+import com.labg.aigateway.service.TokenCounter;
+import com.labg.aigateway.service.impl.HeuristicTokenCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * packageName    : com.labg.aigateway.benchmark
+ * fileName       : TokenCountBenchmark
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : AI 컨텍스트 토큰 계산 - 요청마다 본문을 다시 세는 경우 vs 저장 시 계산한 Message.tokenCount 합산
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenCountBenchmark {
+
+    private static final String KOREAN = "지난번에 말씀드린 보고서 초안을 검토해 주실 수 있을까요? 수정할 부분이 있으면 알려주세요. ";
+    private static final String ENGLISH = "Here is the summary of the quarterly report with the key metrics and next steps. ";
+
+    // 컨텍스트 메시지 수 (기본 윈도우 10개 ~ 긴 대화)
+    @Param({"10", "50"})
+    private int messages;
+
+    // 메시지 본문 길이 (문장 반복 수)
+    @Param({"5", "40"})
+    private int sentences;
+
+    private final TokenCounter tokenCounter = new HeuristicTokenCounter();
+    private List<Message> context;
+
+    @Setup
+    public void setUp() {
+        context = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            String content = (i % 2 == 0 ? KOREAN : ENGLISH).repeat(sentences);
+            Message message = i % 2 == 0 ? Message.userMessage(content) : Message.assistantMessage(content, null);
+            message.setTokenCount(tokenCounter.count(content));
+            context.add(message);
+        }
+    }
+
+    /**
+     * 요청마다 모든 메시지 본문을 다시 추정
+     */
+    @Benchmark
+    public long estimate() {
+        long total = 0;
+        for (Message message : context) {
+            total += tokenCounter.count(message.getContent());
+        }
+        return total;
+    }
+
+    /**
+     * 저장된 메시지별 토큰 수 합산 (truncateByTokenLimit 경로)
+     */
+    @Benchmark
+    public long storedCount() {
+        long total = 0;
+        for (Message message : context) {
+            total += message.getTokenCount();
+        }
+        return total;
+    }
+}
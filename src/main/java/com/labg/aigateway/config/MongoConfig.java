@@ -1,15 +1,69 @@
 package com.labg.aigateway.config;
 
+import com.labg.aigateway.entity.ChatSession;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
 /**
  * packageName    : com.labg.aigateway.config
  * fileName       : MongoConfig
  * author         : 이가은
  * date           : 2025-10-28
- * description    :
+ * description    : MongoDB 인덱스 설정 (세션 만료 TTL 인덱스)
  * ===========================================================
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
  * 2025-10-28          이가은             최초 생성
  */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
 public class MongoConfig {
+
+    private static final String LAST_ACCESSED_AT = "lastAccessedAt";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${session.expiry-hours:24}")
+    private long expiryHours;
+
+    /**
+     * chat_sessions.lastAccessedAt TTL 인덱스 생성
+     * - 만료 세션은 MongoDB TTL 모니터가 삭제 (애플리케이션 배치 불필요)
+     * - session.expiry-hours가 바뀐 경우 collMod로 expireAfterSeconds만 변경
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSessionTtlIndex() {
+        Duration expireAfter = Duration.ofHours(expiryHours);
+        String collection = mongoTemplate.getCollectionName(ChatSession.class);
+
+        mongoTemplate.indexOps(ChatSession.class)
+                .ensureIndex(new Index()
+                        .on(LAST_ACCESSED_AT, Sort.Direction.ASC)
+                        .named("lastAccessedAt_ttl")
+                        .expire(expireAfter))
+                .doOnSuccess(name -> log.info("세션 TTL 인덱스 확인 - {}: {}시간", name, expiryHours))
+                .onErrorResume(e -> {
+                    // 같은 키의 인덱스가 다른 옵션으로 이미 있는 경우 (만료 시간 변경)
+                    log.info("세션 TTL 인덱스 옵션 변경 시도 - expireAfter: {}시간 ({})", expiryHours, e.getMessage());
+                    return mongoTemplate.executeCommand(new Document("collMod", collection)
+                                    .append("index", new Document("keyPattern", new Document(LAST_ACCESSED_AT, 1))
+                                            .append("expireAfterSeconds", expireAfter.toSeconds())))
+                            .thenReturn(LAST_ACCESSED_AT);
+                })
+                .doOnError(e -> log.error("세션 TTL 인덱스 설정 실패 - 스케줄 정리 작업으로만 만료 처리됨", e))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
 }
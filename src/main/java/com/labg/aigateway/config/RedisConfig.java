@@ -1,11 +1,17 @@
 package com.labg.aigateway.config;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.dto.response.CachedResponseBody;
+import com.labg.aigateway.entity.ChatSession;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -14,6 +20,8 @@ import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * packageName    : com.labg.aigateway.config
  * fileName       : RedisConfig
@@ -31,31 +39,28 @@ public class RedisConfig {
     /**
      * ReactiveRedisTemplate<String, Object> Bean 등록.
      * - key/hashKey: String 직렬화
-     * - value/hashValue: GenericJackson2Json 직렬화
+     * - value/hashValue: RedisValueCodec
+     *   - session: → ChatSession, query: → AiResponse, response: → CachedResponseBody 값은
+     *     타입 정보 없는 Smile 바이너리 (+ 임계값 이상 LZ4)
+     *   - 그 외 값(문자열, 숫자 등)과 기존에 저장된 JSON 값은 default-typing JSON으로 처리
      *
      * @param factory Reactive Redis 커넥션 팩토리 (Lettuce 기반 자동 구성 사용)
      * @return ReactiveRedisTemplate<String, Object>
      */
     @Bean
-    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory) {
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(
+            ReactiveRedisConnectionFactory factory,
+            @Value("${cache.codec.format:smile}") String format,
+            @Value("${cache.codec.compress-threshold:2048}") int compressThreshold) {
         try {
-
-            // LocalDateTime 직렬화 지원을 위해 JavaTimeModule 등록
-            ObjectMapper objectMapper = new ObjectMapper()
-                    .registerModule(new JavaTimeModule())
-                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-                    .activateDefaultTyping(
-                            BasicPolymorphicTypeValidator.builder()
-                                    .allowIfSubType(Object.class)
-                                    .build(),
-                            ObjectMapper.DefaultTyping.NON_FINAL,
-                            JsonTypeInfo.As.PROPERTY
-                    )
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-            // Jackson2JsonRedisSerializer 생성
-            Jackson2JsonRedisSerializer<Object> serializer =
-                    new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+            RedisValueCodec serializer = new RedisValueCodec(
+                    legacyJsonSerializer(),
+                    binaryObjectMapper(),
+                    // 순서가 저장 포맷의 타입 ID이므로 뒤에만 추가할 것
+                    List.of(ChatSession.class, AiResponse.class, CachedResponseBody.class),
+                    "smile".equalsIgnoreCase(format),
+                    compressThreshold
+            );
 
             // RedisSerializationContext 설정
             RedisSerializationContext<String, Object> serializationContext =
@@ -71,4 +76,35 @@ public class RedisConfig {
             throw new IllegalStateException("Failed to create ReactiveRedisTemplate", e);
         }
     }
+
+    /**
+     * 기존 직렬화 (default typing JSON) - 기존 값 읽기 및 미등록 타입용
+     */
+    private Jackson2JsonRedisSerializer<Object> legacyJsonSerializer() {
+        // LocalDateTime 직렬화 지원을 위해 JavaTimeModule 등록
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .activateDefaultTyping(
+                        BasicPolymorphicTypeValidator.builder()
+                                .allowIfSubType(Object.class)
+                                .build(),
+                        ObjectMapper.DefaultTyping.NON_FINAL,
+                        JsonTypeInfo.As.PROPERTY
+                )
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        return new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    }
+
+    /**
+     * 등록 타입용 Smile 매퍼 (타입 정보 없음, 날짜는 숫자 배열로 저장)
+     */
+    private ObjectMapper binaryObjectMapper() {
+        return new ObjectMapper(new SmileFactory())
+                .registerModule(new JavaTimeModule())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
 }
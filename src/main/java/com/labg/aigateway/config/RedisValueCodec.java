@@ -0,0 +1,126 @@
+package com.labg.aigateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * packageName    : com.labg.aigateway.config
+ * fileName       : RedisValueCodec
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : Redis 값 직렬화 - 등록된 타입은 타입 정보 없는 바이너리(Smile) + 선택적 LZ4 압축
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+public class RedisValueCodec implements RedisSerializer<Object> {
+
+    /*
+     * 바이너리 프레임: [MAGIC][타입 ID][플래그][(압축 시) 원본 길이 4바이트][본문]
+     * - 기존 JSON 값은 '{', '[', '"', 숫자 등으로 시작하므로 MAGIC(0xB7)과 겹치지 않음
+     */
+    private static final byte MAGIC = (byte) 0xB7;
+    private static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 3;
+
+    private final RedisSerializer<Object> legacy;
+    private final boolean binaryEnabled;
+    private final int compressThreshold;
+
+    // 타입 ID ↔ 타입 (ID는 저장된 값과 호환되어야 하므로 변경 금지, 추가만 허용)
+    private final Map<Class<?>, Byte> typeIds = new HashMap<>();
+    private final ObjectWriter[] writers = new ObjectWriter[Byte.MAX_VALUE];
+    private final ObjectReader[] readers = new ObjectReader[Byte.MAX_VALUE];
+
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * @param legacy            기존 default-typing JSON 직렬화 (미등록 타입 쓰기 + 기존 값 읽기)
+     * @param binaryMapper      등록 타입용 바이너리 ObjectMapper (Smile 등)
+     * @param types             바이너리로 저장할 타입 목록 (순서가 타입 ID)
+     * @param binaryEnabled     false면 쓰기는 모두 기존 JSON (읽기는 두 형식 모두 지원)
+     * @param compressThreshold 이 크기(bytes) 이상이면 LZ4 압축, 0 이하면 압축 안 함
+     */
+    public RedisValueCodec(RedisSerializer<Object> legacy, ObjectMapper binaryMapper, List<Class<?>> types,
+                           boolean binaryEnabled, int compressThreshold) {
+        this.legacy = legacy;
+        this.binaryEnabled = binaryEnabled;
+        this.compressThreshold = compressThreshold;
+
+        for (int i = 0; i < types.size(); i++) {
+            byte id = (byte) (i + 1);
+            Class<?> type = types.get(i);
+            typeIds.put(type, id);
+            writers[id] = binaryMapper.writerFor(type);
+            readers[id] = binaryMapper.readerFor(type);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        Byte typeId = value == null ? null : typeIds.get(value.getClass());
+        if (!binaryEnabled || typeId == null) {
+            return legacy.serialize(value);
+        }
+
+        try {
+            byte[] body = writers[typeId].writeValueAsBytes(value);
+            boolean compress = compressThreshold > 0 && body.length >= compressThreshold;
+
+            if (!compress) {
+                ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + body.length);
+                frame.put(MAGIC).put(typeId).put((byte) 0).put(body);
+                return frame.array();
+            }
+
+            byte[] compressed = new byte[compressor.maxCompressedLength(body.length)];
+            int compressedLength = compressor.compress(body, 0, body.length, compressed, 0, compressed.length);
+            ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressedLength);
+            frame.put(MAGIC).put(typeId).put(FLAG_LZ4).putInt(body.length).put(compressed, 0, compressedLength);
+            return frame.array();
+        } catch (IOException e) {
+            throw new SerializationException("Redis 값 직렬화 실패: " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        // 기존 JSON 값 (또는 미등록 타입)
+        if (bytes[0] != MAGIC || bytes.length < HEADER_SIZE) {
+            return legacy.deserialize(bytes);
+        }
+
+        byte typeId = bytes[1];
+        if (typeId <= 0 || readers[typeId] == null) {
+            throw new SerializationException("알 수 없는 Redis 값 타입 ID: " + typeId);
+        }
+
+        try {
+            if ((bytes[2] & FLAG_LZ4) == 0) {
+                return readers[typeId].readValue(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            }
+            int originalLength = ByteBuffer.wrap(bytes, HEADER_SIZE, Integer.BYTES).getInt();
+            byte[] body = decompressor.decompress(bytes, HEADER_SIZE + Integer.BYTES, originalLength);
+            return readers[typeId].readValue(body);
+        } catch (IOException e) {
+            throw new SerializationException("Redis 값 역직렬화 실패 - 타입 ID: " + typeId, e);
+        }
+    }
+}
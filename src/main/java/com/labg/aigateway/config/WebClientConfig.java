@@ -10,6 +10,7 @@ package com.labg.aigateway.config;
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
  * 2025-10-28          이가은             최초 생성
+ * 2026-10-17          이가은             AI Engine 전용 커넥션 풀 + 풀 메트릭, h2c 옵션
  */
 
 import io.netty.channel.ChannelOption;
@@ -23,7 +24,10 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -36,16 +40,63 @@ public class WebClientConfig {
     String baseUrl;
     @Value("${ai-engine.timeout}")
     Duration timeout;
-    @Value("${ai-engine.retry.max-attempts:3}")
-    private int maxAttempts;
-    @Value("${ai-engine.retry.backoff:1s}")
-    private Duration backoff;
 
+    // AI Engine 커넥션 풀
+    @Value("${ai-engine.http.protocol:http1}")
+    private String protocol;
+    @Value("${ai-engine.http.pool.max-connections:100}")
+    private int maxConnections;
+    @Value("${ai-engine.http.pool.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+    @Value("${ai-engine.http.pool.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+    @Value("${ai-engine.http.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+    @Value("${ai-engine.http.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+    @Value("${ai-engine.http.pool.evict-interval:30s}")
+    private Duration evictInterval;
+    @Value("${ai-engine.http.h2.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+
+
+    /**
+     * AI Engine 전용 커넥션 풀
+     * - 크기/대기열/유휴 정리/최대 수명을 명시 (기본 전역 풀과 분리)
+     * - metrics(true): reactor.netty.connection.provider.* (active/idle/pending 커넥션, 획득 시간)를 Micrometer로 노출
+     * - h2c: 커넥션당 여러 요청을 다중화하므로 엔드포인트당 적은 수의 커넥션만 유지
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiEngineConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("ai-engine")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true);
+
+        if (isH2c()) {
+            int h2Connections = Math.max(1, maxConnections / (int) Math.max(1, maxConcurrentStreams));
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .minConnections(1)
+                    .maxConnections(h2Connections)
+                    .maxConcurrentStreams(maxConcurrentStreams)
+                    .build());
+        }
+
+        log.info("AI Engine 커넥션 풀 - protocol: {}, maxConnections: {}, pendingAcquireMaxCount: {}, maxIdleTime: {}, maxLifeTime: {}",
+                protocol, maxConnections, pendingAcquireMaxCount, maxIdleTime, maxLifeTime);
+        return builder.build();
+    }
 
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider aiEngineConnectionProvider) {
         // Netty HttpClient 설정
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(aiEngineConnectionProvider)
+                // h2c: 사전 합의(prior knowledge) 방식 HTTP/2, 엔진 서버가 h2c를 지원해야 함
+                .protocol(isH2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11)
                 // 연결 타임아웃 (10초)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
                 // Response 타임아웃 (30초)
@@ -67,6 +118,10 @@ public class WebClientConfig {
     }
 
 
+    private boolean isH2c() {
+        return "h2c".equalsIgnoreCase(protocol);
+    }
+
     /**
      * 요청 로깅 필터
      */
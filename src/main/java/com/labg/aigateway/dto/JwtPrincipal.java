@@ -0,0 +1,17 @@
+package com.labg.aigateway.dto;
+
+import java.time.Instant;
+
+/**
+ * packageName    : com.labg.aigateway.dto
+ * fileName       : JwtPrincipal
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 검증이 끝난 JWT의 사용자 정보 (불변)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+public record JwtPrincipal(String userId, String username, Instant expiresAt) {
+}
@@ -5,7 +5,6 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * packageName    : com.labg.aigateway.dto.request
@@ -35,15 +34,18 @@ public class AiEngineRequest {
     private String mode = "parallel";  // ✅ 기본값 설정
 
     @JsonProperty("context")
-    private Map<String, Object> context;  // ✅ List가 아닌 Map
-
-    @Data
-    @Builder
-    @NoArgsConstructor
-    @AllArgsConstructor
-    public static class ContextMessage {
-        private String role;      // "user" or "assistant"
-        private String content;
-        private Long timestamp;
+    private Context context;  // {"messages": [...]} 형태 (엔진 스키마와 동일)
+
+    /**
+     * AI Engine 컨텍스트 (타입이 고정된 record로 직렬화 시 Map 생성/리플렉션 탐색 없음)
+     */
+    public record Context(List<ContextMessage> messages) {
+    }
+
+    public record ContextMessage(
+            String role,      // "user" or "assistant"
+            String content,
+            long timestamp    // epoch seconds
+    ) {
     }
 }
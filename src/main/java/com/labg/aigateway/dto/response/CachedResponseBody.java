@@ -0,0 +1,32 @@
+package com.labg.aigateway.dto.response;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * packageName    : com.labg.aigateway.dto.response
+ * fileName       : CachedResponseBody
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 직렬화가 끝난 ChatResponse 본문 + ETag (캐시 HIT 시 그대로 전송)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+public record CachedResponseBody(byte[] body, String etag) {
+
+    /**
+     * 본문 SHA-256 앞 16바이트 기반 strong ETag
+     */
+    public static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            return "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.labg.aigateway.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * packageName    : com.labg.aigateway.dto.response
+ * fileName       : HealthSnapshot
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 백그라운드에서 주기적으로 수집한 Gateway 의존성 헬스 스냅샷 (/api/health 응답)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HealthSnapshot(
+        String status,          // UP, DEGRADED, DOWN, STARTING
+        Instant checkedAt,      // 마지막 수집 시각
+        long ageMs,             // 응답 시점 기준 스냅샷 경과 시간
+        Engine aiEngine,
+        Dependency mongo,
+        Dependency redis
+) {
+
+    public static final String UP = "UP";
+    public static final String DEGRADED = "DEGRADED";
+    public static final String DOWN = "DOWN";
+    public static final String STARTING = "STARTING";
+
+    /**
+     * 첫 수집 전 스냅샷
+     */
+    public static HealthSnapshot starting() {
+        return new HealthSnapshot(STARTING, null, 0, null, null, null);
+    }
+
+    /**
+     * 트래픽을 받을 수 있는 상태인지 (DEGRADED는 캐시만 불가, 요청 처리는 가능)
+     */
+    public boolean isServing() {
+        return UP.equals(status) || DEGRADED.equals(status);
+    }
+
+    /**
+     * 응답 시점의 경과 시간을 채운 사본
+     */
+    public HealthSnapshot withAge(Instant now) {
+        if (checkedAt == null) {
+            return this;
+        }
+        return new HealthSnapshot(status, checkedAt, now.toEpochMilli() - checkedAt.toEpochMilli(),
+                aiEngine, mongo, redis);
+    }
+
+    /**
+     * 단일 의존성(MongoDB, Redis) 상태
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Dependency(String status, Long latencyMs, String error) {
+    }
+
+    /**
+     * AI Engine 상태 (서킷 브레이커 상태 + 엔드포인트별 마지막 헬스체크)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Engine(String status, String circuitBreaker, List<EngineEndpoint> endpoints) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record EngineEndpoint(
+            String url,
+            String status,          // AI Engine이 보고한 상태 (healthy, degraded, unhealthy, unreachable)
+            boolean available,      // 라우팅 대상 여부 (헬스 + 이상치 제외 반영)
+            boolean ejected,
+            int inFlight,
+            Long latencyMs,
+            String version,
+            String error
+    ) {
+    }
+}
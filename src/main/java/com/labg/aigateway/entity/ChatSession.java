@@ -10,8 +10,6 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -42,15 +40,22 @@ public class ChatSession {
     @Indexed
     private String userId;
 
+    // 메시지 본문은 MessageBucket(chat_message_buckets)에 분리 저장, 세션에는 개수만 유지
     @Builder.Default
-    private List<Message> messages = new ArrayList<>();
+    private Long messageCount = 0L;
+
+    // 롤링 요약: seq < summarizedUntilSeq 메시지를 요약한 내용 (AI 컨텍스트 앞에 추가)
+    private String summary;
+
+    @Builder.Default
+    private Long summarizedUntilSeq = 0L;
 
     private LocalDateTime createdAt;
 
     private LocalDateTime lastAccessedAt;
 
     @Builder.Default
-    private Integer maxContextWindow = 10;  // 최근 N개 메시지만 유지
+    private Integer maxContextWindow = 10;  // AI 컨텍스트에 사용할 최근 N개 메시지
 
     // === 비즈니스 로직 ===
 
@@ -73,33 +78,6 @@ public class ChatSession {
                 .build();
     }
 
-    /**
-     * 새 메시지 추가
-     */
-    public void addMessage(Message message) {
-        this.messages.add(message);
-        this.lastAccessedAt = LocalDateTime.now();
-
-        // 컨텍스트 윈도우 초과 시 오래된 메시지 제거
-        if (messages.size() > maxContextWindow * 2) {
-            this.messages = new ArrayList<>(
-                messages.subList(
-                    messages.size() - (maxContextWindow * 2),
-                    messages.size()
-                )
-            );
-        }
-    }
-
-    /**
-     * 최근 N개 메시지만 가져오기 (컨텍스트용)
-     */
-    public List<Message> getRecentMessages(int count) {
-        int size = messages.size();
-        int fromIndex = Math.max(0, size - count);
-        return new ArrayList<>(messages.subList(fromIndex, size));
-    }
-
     /**
      * 세션이 만료되었는지 확인 (24시간)
      */
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 /**
@@ -14,7 +15,7 @@ import java.util.List;
  * fileName       : Message
  * author         : 이가은
  * date           : 2025-10-28
- * description    : ChatSession 내부에 포함되는 메시지(MongoDB에 embedded document로 저장)
+ * description    : 대화 메시지 (MessageBucket 내부에 embedded document로 저장)
  * ===========================================================
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
@@ -26,12 +27,18 @@ import java.util.List;
 @AllArgsConstructor
 public class Message {
 
+    private Long seq;  // 세션 내 순번 (0부터, 버킷 번호 = seq / 버킷 크기)
+
     private String role;  // "user" or "assistant"
 
     private String content;
 
+    private Integer tokenCount;  // content 토큰 수 (저장 시 한 번 계산, 이전 메시지는 null)
+
     private LocalDateTime timestamp;
 
+    private Long epochSecond;  // timestamp의 epoch seconds (생성 시 계산, AI 컨텍스트 전달용)
+
     private MessageMetadata metadata;
 
     @Data
@@ -47,18 +54,22 @@ public class Message {
     // === 팩토리 메서드 ===
 
     public static Message userMessage(String content) {
+        ZonedDateTime now = ZonedDateTime.now();
         return Message.builder()
                 .role("user")
                 .content(content)
-                .timestamp(LocalDateTime.now())
+                .timestamp(now.toLocalDateTime())
+                .epochSecond(now.toEpochSecond())
                 .build();
     }
 
     public static Message assistantMessage(String content, MessageMetadata metadata) {
+        ZonedDateTime now = ZonedDateTime.now();
         return Message.builder()
                 .role("assistant")
                 .content(content)
-                .timestamp(LocalDateTime.now())
+                .timestamp(now.toLocalDateTime())
+                .epochSecond(now.toEpochSecond())
                 .metadata(metadata)
                 .build();
     }
@@ -0,0 +1,51 @@
+package com.labg.aigateway.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * packageName    : com.labg.aigateway.entity
+ * fileName       : MessageBucket
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 세션 메시지를 고정 크기 단위로 나눠 저장하는 버킷 (bucket pattern)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "chat_message_buckets")
+@CompoundIndex(name = "session_seq", def = "{'sessionId': 1, 'seq': -1}", unique = true)
+public class MessageBucket {
+
+    @Id
+    private String id;
+
+    private String sessionId;
+
+    private Integer seq;  // 버킷 번호 (0부터, 메시지 seq / 버킷 크기)
+
+    private Integer count;  // 버킷 내 메시지 수
+
+    @Builder.Default
+    private List<Message> messages = new ArrayList<>();
+
+    private LocalDateTime createdAt;
+
+    @Indexed
+    private LocalDateTime updatedAt;  // 고아 버킷 정리용
+}
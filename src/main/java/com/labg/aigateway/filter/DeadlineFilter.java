@@ -0,0 +1,84 @@
+package com.labg.aigateway.filter;
+
+import com.labg.aigateway.util.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * packageName    : com.labg.aigateway.filter
+ * fileName       : DeadlineFilter
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 요청별 처리 시간 예산 설정 (X-Request-Timeout 헤더 또는 경로 기본값 → Reactor Context)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Component
+@Order(20)  // 요청 제한 통과 이후부터 예산 계산
+public class DeadlineFilter implements WebFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    // 경로 → 기본 예산
+    private final Map<String, Duration> routeBudgets;
+
+    public DeadlineFilter(@Value("${deadline.default:30s}") Duration defaultBudget,
+                          @Value("${deadline.max:60s}") Duration maxBudget,
+                          @Value("${deadline.routes.query:30s}") Duration queryBudget,
+                          @Value("${deadline.routes.stream:60s}") Duration streamBudget,
+                          @Value("${deadline.routes.upload-pdf:60s}") Duration uploadBudget) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.routeBudgets = Map.of(
+                "/api/chat/query", queryBudget,
+                "/api/chat/stream", streamBudget,
+                "/api/chat/upload-pdf", uploadBudget
+        );
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Duration budget = budgetOf(exchange);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, Deadline.after(budget)));
+    }
+
+    /**
+     * 헤더 값(밀리초 숫자 또는 "15s" 형식)이 있으면 사용, 최대 예산으로 제한
+     */
+    private Duration budgetOf(ServerWebExchange exchange) {
+        Duration routeDefault = routeBudgets.getOrDefault(exchange.getRequest().getPath().value(), defaultBudget);
+
+        String header = exchange.getRequest().getHeaders().getFirst(TIMEOUT_HEADER);
+        if (header == null || header.isBlank()) {
+            return routeDefault;
+        }
+
+        try {
+            Duration requested = DurationStyle.detectAndParse(header.strip());
+            if (requested.isNegative() || requested.isZero()) {
+                return routeDefault;
+            }
+            return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+        } catch (IllegalArgumentException e) {
+            log.debug("잘못된 {} 헤더 - 기본값 사용: {}", TIMEOUT_HEADER, header);
+            return routeDefault;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.labg.aigateway.filter;
 
+import com.labg.aigateway.dto.JwtPrincipal;
 import com.labg.aigateway.service.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -11,6 +13,8 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 /**
  * packageName    : com.labg.aigateway.filter
  * fileName       : JwtAuthenticationFilter
@@ -24,6 +28,7 @@ import reactor.core.publisher.Mono;
  */
 @Slf4j
 @Component
+@Order(0)  // RateLimitFilter 등 X-User-Id를 사용하는 필터보다 먼저 실행
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements WebFilter {
 
@@ -69,20 +74,22 @@ public class JwtAuthenticationFilter implements WebFilter {
             return unauthorized(exchange, "인증 토큰이 필요합니다");
         }
 
-        // 토큰 검증
-        if (!jwtService.validateToken(token)) {
+        // 토큰 검증 + 사용자 정보 추출 (한 번의 파싱, 검증된 토큰은 캐시 사용)
+        Optional<JwtPrincipal> principal = jwtService.verify(token);
+        if (principal.isEmpty()) {
             log.warn("유효하지 않은 토큰 - path: {}", path);
             return unauthorized(exchange, "유효하지 않은 토큰입니다");
         }
 
-        // 토큰에서 사용자 정보 추출
-        String userId = jwtService.extractUserId(token);
-        String username = jwtService.extractUsername(token);
+        String userId = principal.get().userId();
+        String username = principal.get().username();
 
-        // Request에 사용자 정보 추가 (Handler에서 사용 가능)
+        // Request에 사용자 정보 설정 (Handler에서 사용 가능, 클라이언트가 보낸 값은 덮어씀)
         ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                .header("X-User-Id", userId)
-                .header("X-Username", username)
+                .headers(headers -> {
+                    headers.set("X-User-Id", userId);
+                    headers.set("X-Username", username);
+                })
                 .build();
 
         ServerWebExchange mutatedExchange = exchange.mutate()
@@ -1,15 +1,132 @@
 package com.labg.aigateway.filter;
 
+import com.labg.aigateway.service.RateLimiter;
+import com.labg.aigateway.service.RateLimiter.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 /**
  * packageName    : com.labg.aigateway.filter
  * fileName       : RateLimitFilter
  * author         : 이가은
  * date           : 2025-10-28
- * description    :
+ * description    : 사용자(X-User-Id)별 토큰 버킷 요청 제한 (AI Engine 보호)
  * ===========================================================
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
  * 2025-10-28          이가은             최초 생성
+ * 2026-10-16          이가은             채팅/PDF 업로드 토큰 버킷 적용
  */
-public class RateLimitFilter {
+@Slf4j
+@Component
+@Order(10)  // JwtAuthenticationFilter(X-User-Id 설정) 이후 실행
+public class RateLimitFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+
+    // 경로 → 정책
+    private final Map<String, Rule> rules;
+    private final Map<String, Counter> rejectedCounters;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.chat.capacity:20}") long chatCapacity,
+                           @Value("${rate-limit.chat.refill-per-minute:20}") double chatRefillPerMinute,
+                           @Value("${rate-limit.upload.capacity:3}") long uploadCapacity,
+                           @Value("${rate-limit.upload.refill-per-minute:3}") double uploadRefillPerMinute) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+
+        Rule chat = new Rule("chat", chatCapacity, chatRefillPerMinute / 60);
+        Rule upload = new Rule("upload", uploadCapacity, uploadRefillPerMinute / 60);
+        this.rules = Map.of(
+                "/api/chat/query", chat,
+                "/api/chat/stream", chat,
+                "/api/chat/upload-pdf", upload
+        );
+        this.rejectedCounters = Map.of(
+                chat.name(), rejectedCounter(meterRegistry, chat.name()),
+                upload.name(), rejectedCounter(meterRegistry, upload.name())
+        );
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        Rule rule = rules.get(exchange.getRequest().getPath().value());
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String client = clientKey(exchange);
+        return rateLimiter.tryAcquire(rule.name() + ":" + client, rule)
+                .flatMap(decision -> {
+                    if (decision.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    rejectedCounters.get(rule.name()).increment();
+                    log.warn("요청 제한 초과 - policy: {}, client: {}, retryAfter: {}ms",
+                            rule.name(), client, decision.retryAfterMillis());
+                    return tooManyRequests(exchange, decision.retryAfterMillis());
+                });
+    }
+
+    /**
+     * 인증된 요청은 사용자 ID, 그 외에는 클라이언트 IP 기준
+     */
+    private String clientKey(ServerWebExchange exchange) {
+        String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+        if (userId != null && !userId.isEmpty()) {
+            return userId;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote != null ? "ip:" + remote.getHostString() : "anonymous";
+    }
+
+    /**
+     * 429 Too Many Requests 응답 (Retry-After: 초 단위 올림)
+     */
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfterMillis) {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        String json = String.format(
+                "{\"success\":false,\"error\":\"Too Many Requests\",\"message\":\"요청이 너무 많습니다. %d초 후 다시 시도해주세요\"}",
+                retryAfterSeconds);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        return exchange.getResponse().writeWith(
+                Mono.just(exchange.getResponse().bufferFactory().wrap(bytes))
+        );
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String policy) {
+        return Counter.builder("ratelimit.rejected")
+                .description("요청 제한으로 거절된 요청 수")
+                .tag("policy", policy)
+                .register(meterRegistry);
+    }
 }
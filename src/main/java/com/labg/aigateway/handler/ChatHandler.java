@@ -1,27 +1,42 @@
 package com.labg.aigateway.handler;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.entity.Message;
 import com.labg.aigateway.dto.request.AiEngineRequest;
 import com.labg.aigateway.dto.request.ChatRequest;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.dto.response.CachedResponseBody;
 import com.labg.aigateway.dto.response.ChatResponse;
 import com.labg.aigateway.service.AiEngineClient;
 import com.labg.aigateway.service.CacheService;
 import com.labg.aigateway.service.ContextManager;
+import com.labg.aigateway.service.QueryCoalescer;
+import com.labg.aigateway.service.SemanticCache;
 import com.labg.aigateway.service.SessionService;
+import com.labg.aigateway.util.Deadline;
+import com.labg.aigateway.util.EarlyRefresh;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.http.codec.multipart.FormFieldPart;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * packageName    : com.labg.aigateway.handler
@@ -43,6 +58,11 @@ public class ChatHandler {
     private final SessionService sessionService;
     private final ContextManager contextManager;
     private final CacheService cacheService;
+    private final QueryCoalescer queryCoalescer;
+    private final SemanticCache semanticCache;
+    private final ObjectMapper objectMapper;
+    @Value("${context.max-tokens:4000}")
+    private int maxContextTokens;
 
 
     public Mono<ServerResponse> handleChat(ServerRequest request) {
@@ -57,85 +77,304 @@ public class ChatHandler {
                                         "detail", "Field 'message' is required"
                                 ));
                     }
-                    // 1. 세션 조회/생성
-                    return sessionService.getOrCreateSession(chatRequest.getSessionId(), chatRequest.getUserId())
-                            .flatMap(session -> {
-                                // 2. 사용자 메시지 생성
-                                Message userMessage = Message.userMessage(chatRequest.getMessage());
-
-                                // 3. 캐시 조회
-                                return cacheService.getCachedResponse(session.getSessionId(), chatRequest.getMessage())
-                                        .flatMap(cachedResponse -> {
-                                            // 캐시 HIT: 메시지 저장 없이 바로 응답 반환
-                                            log.debug("캐시 HIT - 메시지 저장 생략, 즉시 응답 반환");
-                                            return Mono.just(cachedResponse);
-                                        })
-                                        .switchIfEmpty(
-                                                // 캐시 MISS 시: 컨텍스트 추출 → AI 호출 → 캐시 저장 → 메시지 저장
-                                                Mono.defer(() -> {
-                                                    // 3-1. 컨텍스트 추출 (캐시 MISS일 때만 실행)
-                                                    int window = session.getMaxContextWindow() == null ? 10 : session.getMaxContextWindow();
-                                                    List<Message> context = contextManager.getRecentContext(session, window);
-                                                    // 3-2. 토큰 제한 적용(최대 4000 토큰)
-                                                    List<Message> limited = contextManager.truncateByTokenLimit(context, 4000);
-
-                                                    // 3-3. AI 요청 생성
-                                                    AiEngineRequest aiRequest = AiEngineRequest.builder()
-                                                            .message(chatRequest.getMessage())
-                                                            .sessionId(session.getSessionId())
-                                                            .context(contextManager.formatContextForAi(limited))
-                                                            .build();
-
-                                                    // 3-4. AI Engine 호출 및 캐시 저장
-                                                    return aiEngineClient.query(aiRequest)
-                                                            .flatMap(aiResponse ->
-                                                                    cacheService.cacheResponse(session.getSessionId(), chatRequest.getMessage(), aiResponse)
-                                                                            .onErrorReturn(false)
-                                                                            .thenReturn(aiResponse)
-                                                            )
-                                                            .flatMap(aiResponse -> {
-                                                                // 3-5. AI 응답을 메시지로 변환
-                                                                Message assistantMessage = Message.assistantMessage(
-                                                                        aiResponse.getMessage(),
-                                                                        Message.MessageMetadata.builder()
-                                                                                .processingTime(aiResponse.getProcessingTime())
-                                                                                .toolResults(aiResponse.getMetadata().getToolResults())
-                                                                                .selectedTools(aiResponse.getMetadata().getSelectedTools())
-                                                                                .build()
-                                                                );
-
-                                                                // 3-6. 메시지 쌍 저장 (addMessagePair에서 쿼리 캐시 무효화도 처리)
-                                                                return sessionService.addMessagePair(
-                                                                        session.getSessionId(),
-                                                                        userMessage,
-                                                                        assistantMessage
-                                                                ).thenReturn(aiResponse);
-                                                            });
-                                                })
-                                        );
-                            })
-                            .flatMap(aiResponse -> {
-                                // 6. 최종 응답 생성 (AiResponse.Metadata -> ChatResponse.Metadata 매핑)
-                                ChatResponse.Metadata responseMetadata = null;
-                                if (aiResponse.getMetadata() != null) {
-                                    responseMetadata = ChatResponse.Metadata.builder()
-                                            .complexityScore(aiResponse.getMetadata().getComplexityScore())
-                                            .selectedTools(aiResponse.getMetadata().getSelectedTools())
-                                            .toolResults(aiResponse.getMetadata().getToolResults())
-                                            .build();
-                                }
-
-                                ChatResponse response = ChatResponse.success(
-                                        aiResponse.getMessage(),
-                                        aiResponse.getSessionId(),
-                                        aiResponse.getProcessingTime(),
-                                        responseMetadata
-                                );
-                                return ServerResponse.ok()
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .bodyValue(response);
+                    final String message = chatRequest.getMessage();
+                    // 세션 소유자는 JWT 필터가 설정한 사용자 ID로만 결정 (본문의 userId는 무시)
+                    chatRequest.setUserId(request.headers().firstHeader("X-User-Id"));
+
+                    // 1. 세션 조회/생성 (각 단계는 요청 마감까지 남은 시간만 사용)
+                    return Deadline.bound(sessionService.getOrCreateSession(chatRequest.getSessionId(), chatRequest.getUserId()))
+                            .flatMap(session ->
+                                    // 2. 직렬화된 응답 본문 캐시 조회 (HIT 시 객체 매핑/직렬화 없이 그대로 전송)
+                                    Deadline.bound(cacheService.getCachedResponseBody(session.getSessionId(), message))
+                                            .doOnNext(body -> log.debug("응답 본문 캐시 HIT - 직렬화 생략, 즉시 전송"))
+                                            .switchIfEmpty(Mono.defer(() -> resolveResponse(session, message)
+                                                    // 4. 최종 응답 직렬화 (+ 본문 캐시 저장)
+                                                    .flatMap(aiResponse -> toResponseBody(session.getSessionId(), message, aiResponse))))
+                            )
+                            // 캐시 조기 만료 판단용 난수 (본문/쿼리 캐시가 같은 판단을 하도록 요청당 한 번)
+                            .contextWrite(EarlyRefresh::draw)
+                            // 5. 클라이언트가 이미 같은 본문을 갖고 있으면 본문 없이 304
+                            .flatMap(body -> notModified(request, body.etag())
+                                    ? ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(body.etag()).build()
+                                    : ServerResponse.ok()
+                                            .contentType(MediaType.APPLICATION_JSON)
+                                            .eTag(body.etag())
+                                            .body(BodyInserters.fromDataBuffers(Mono.fromSupplier(() ->
+                                                    request.exchange().getResponse().bufferFactory().wrap(body.body())))));
+                });
+    }
+
+    /**
+     * If-None-Match에 응답 본문의 ETag(또는 *)가 있는지 (weak 비교)
+     * POST지만 응답은 (세션, 메시지) 기준으로 캐시되는 조회 결과이므로 412 대신 304로 응답
+     * (ServerWebExchange.checkNotModified는 GET/HEAD 외에는 412를 설정하므로 사용하지 않음)
+     */
+    private static boolean notModified(ServerRequest request, String etag) {
+        for (String header : request.headers().header(HttpHeaders.IF_NONE_MATCH)) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 세션 전체 대화 히스토리 조회 (내보내기)
+     * 메시지 버킷을 순서대로 읽어 스트리밍 직렬화, 본인 세션이 아니면 404
+     */
+    public Mono<ServerResponse> getHistory(ServerRequest request) {
+        String sessionId = request.pathVariable("sessionId");
+        String userId = request.headers().firstHeader("X-User-Id");
+
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(sessionService.getHistory(sessionId, userId), Message.class);
+    }
+
+    /**
+     * 캐시 조회 → (MISS 시) AI Engine 호출 → 캐시/메시지 저장
+     */
+    private Mono<AiResponse> resolveResponse(ChatSession session, String message) {
+        // 사용자 메시지 생성 (MISS 시 저장용)
+        Message userMessage = Message.userMessage(message);
+
+        // 3. 캐시 조회 (정확히 일치 → 유사 질문 순)
+        return lookupCache(session, message)
+                .flatMap(cachedResponse -> {
+                    // 캐시 HIT: 메시지 저장 없이 바로 응답 반환
+                    log.debug("캐시 HIT - 메시지 저장 생략, 즉시 응답 반환");
+                    return Mono.just(cachedResponse);
+                })
+                .switchIfEmpty(
+                        // 캐시 MISS 시: 컨텍스트 추출 → AI 호출 → 캐시 저장 → 메시지 저장
+                        // 동일 질의가 이미 진행 중이면 해당 결과를 공유 (중복 제출/다중 탭 재시도)
+                        queryCoalescer.coalesce(session.getSessionId(), message, () -> {
+                            // 3-1. 컨텍스트 추출 및 AI 요청 생성 (캐시 MISS일 때만 실행)
+                            // 3-2. AI Engine 호출 및 캐시 저장
+                            return buildAiRequest(session, message)
+                                    .flatMap(aiEngineClient::query)
+                                    .flatMap(aiResponse ->
+                                            cacheResponse(session.getSessionId(), message, aiResponse)
+                                                    .thenReturn(aiResponse)
+                                    )
+                                    .flatMap(aiResponse -> {
+                                        // 3-3. AI 응답을 메시지로 변환
+                                        Message assistantMessage = toAssistantMessage(aiResponse);
+
+                                        // 3-4. 메시지 쌍 저장 (addMessagePair에서 쿼리 캐시 무효화도 처리)
+                                        return sessionService.addMessagePair(
+                                                session.getSessionId(),
+                                                userMessage,
+                                                assistantMessage
+                                        ).thenReturn(aiResponse);
+                                    });
+                        })
+                );
+    }
+
+    /**
+     * ChatResponse 직렬화 + ETag 계산, 성공 응답은 본문 캐시에 저장
+     * (AiResponse.Metadata -> ChatResponse.Metadata 매핑)
+     */
+    private Mono<CachedResponseBody> toResponseBody(String sessionId, String message, AiResponse aiResponse) {
+        return Mono.fromCallable(() -> {
+                    // 세션 ID는 요청 세션 기준 (캐시된 응답의 세션 ID를 그대로 내보내지 않음)
+                    ChatResponse response = ChatResponse.success(
+                            aiResponse.getMessage(),
+                            sessionId,
+                            aiResponse.getProcessingTime(),
+                            toResponseMetadata(aiResponse)
+                    );
+                    byte[] bytes = objectMapper.writeValueAsBytes(response);
+                    return new CachedResponseBody(bytes, CachedResponseBody.etagOf(bytes));
+                })
+                .flatMap(body -> aiResponse.isSuccess()
+                        ? cacheService.cacheResponseBody(sessionId, message, body).thenReturn(body)
+                        : Mono.just(body));
+    }
+
+    /**
+     * 스트리밍 채팅 처리 (SSE)
+     * AI Engine 토큰을 도착하는 즉시 브라우저로 전달하고, 스트림 완료 후 조립된 메시지를 저장/캐싱
+     * 이벤트 순서: session → token* → done (실패 시 error)
+     * token 데이터는 {"t": 토큰} JSON (토큰 앞뒤 공백/줄바꿈이 SSE 파싱에서 바뀌지 않도록)
+     */
+    public Mono<ServerResponse> handleChatStream(ServerRequest request) {
+        return request.bodyToMono(ChatRequest.class)
+                .flatMap(chatRequest -> {
+                    // 입력 검증: message 필수
+                    if (!StringUtils.hasText(chatRequest.getMessage())) {
+                        return ServerResponse.badRequest()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(Map.of(
+                                        "error", "Invalid request",
+                                        "detail", "Field 'message' is required"
+                                ));
+                    }
+                    // 세션 소유자는 JWT 필터가 설정한 사용자 ID로만 결정 (본문의 userId는 무시)
+                    chatRequest.setUserId(request.headers().firstHeader("X-User-Id"));
+
+                    Flux<ServerSentEvent<Object>> events = Deadline.bound(sessionService.getOrCreateSession(chatRequest.getSessionId(), chatRequest.getUserId()))
+                            .flatMapMany(session -> Flux.concat(
+                                    // 1. 세션 ID를 먼저 전달 (중단되더라도 클라이언트가 세션을 이어갈 수 있도록)
+                                    Mono.just(sseEvent("session", Map.of("sessionId", session.getSessionId()))),
+                                    // 2. 캐시 HIT: 전체 응답을 한 번에 전달, MISS: AI Engine 스트리밍
+                                    lookupCache(session, chatRequest.getMessage())
+                                            .flatMapMany(cachedResponse -> {
+                                                log.debug("캐시 HIT(스트리밍) - 메시지 저장 생략, 즉시 응답 반환");
+                                                return Flux.just(
+                                                        sseEvent("token", tokenData(cachedResponse.getMessage())),
+                                                        sseEvent("done", doneData(session.getSessionId(), cachedResponse))
+                                                );
+                                            })
+                                            .switchIfEmpty(Flux.defer(() -> streamFromEngine(session, chatRequest.getMessage())))
+                            ))
+                            .onErrorResume(error -> {
+                                log.error("스트리밍 채팅 처리 실패", error);
+                                return Mono.just(sseEvent("error", "처리 중 오류가 발생했습니다."));
                             });
+
+                    return ServerResponse.ok()
+                            .contentType(MediaType.TEXT_EVENT_STREAM)
+                            .body(BodyInserters.fromServerSentEvents(events));
+                });
+    }
+
+    /**
+     * AI Engine 스트림을 브라우저 이벤트로 중계하고, 완료 시 조립된 응답을 캐시/세션에 저장
+     */
+    private Flux<ServerSentEvent<Object>> streamFromEngine(ChatSession session, String message) {
+        String sessionId = session.getSessionId();
+        Message userMessage = Message.userMessage(message);
+
+        StringBuilder assembled = new StringBuilder();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        long startNanos = System.nanoTime();
+
+        Flux<ServerSentEvent<Object>> tokens = buildAiRequest(session, message)
+                .flatMapMany(aiEngineClient::queryStream)
+                .takeUntil(event -> "done".equals(event.event()))
+                .filter(event -> event.data() != null && !"done".equals(event.event()))
+                .map(event -> {
+                    if ("error".equals(event.event())) {
+                        failed.set(true);
+                        return sseEvent("error", event.data());
+                    }
+                    assembled.append(event.data());
+                    return sseEvent("token", tokenData(event.data()));
                 });
+
+        // 스트림 완료 후: 조립된 메시지 캐시 저장 → 메시지 쌍 저장 → done 이벤트
+        Mono<ServerSentEvent<Object>> done = Mono.defer(() -> {
+            if (failed.get() || assembled.isEmpty()) {
+                return Mono.empty();
+            }
+
+            AiResponse aiResponse = AiResponse.builder()
+                    .success(true)
+                    .message(assembled.toString())
+                    .sessionId(sessionId)
+                    .processingTime((System.nanoTime() - startNanos) / 1_000_000_000.0)
+                    .modeUsed("stream")
+                    .build();
+
+            return cacheResponse(sessionId, message, aiResponse)
+                    .then(sessionService.addMessagePair(sessionId, userMessage, toAssistantMessage(aiResponse)))
+                    .thenReturn(sseEvent("done", doneData(sessionId, aiResponse)));
+        });
+
+        return Flux.concat(tokens, done);
+    }
+
+    /**
+     * 쿼리 캐시 조회 - 정확히 일치하는 질문이 없으면 시맨틱 캐시(활성화 시) 조회
+     * 만료 임박 항목은 확률적으로 MISS가 되어, 선택된 요청이 일반 MISS 경로(QueryCoalescer)로 자신의 대화 맥락에서 갱신
+     */
+    private Mono<AiResponse> lookupCache(ChatSession session, String message) {
+        String sessionId = session.getSessionId();
+        return Deadline.bound(cacheService.getCachedResponse(sessionId, message)
+                .switchIfEmpty(Mono.defer(() -> semanticCache.lookup(sessionId, message))));
+    }
+
+    /**
+     * 쿼리 캐시 + 시맨틱 캐시 저장 (실패해도 응답 흐름은 계속)
+     */
+    private Mono<Boolean> cacheResponse(String sessionId, String message, AiResponse aiResponse) {
+        return cacheService.cacheResponse(sessionId, message, aiResponse)
+                .onErrorReturn(false)
+                .flatMap(cached -> semanticCache.store(sessionId, message, aiResponse)
+                        .onErrorResume(e -> Mono.empty())
+                        .thenReturn(cached));
+    }
+
+    /**
+     * 최근 컨텍스트 추출 + 토큰 제한 적용 후 AI 요청 생성
+     */
+    private Mono<AiEngineRequest> buildAiRequest(ChatSession session, String message) {
+        int window = session.getMaxContextWindow() == null ? 10 : session.getMaxContextWindow();
+        return Deadline.bound(contextManager.getRecentContext(session, window))
+                .map(context -> {
+                    // 토큰 제한 적용 (context.max-tokens)
+                    List<Message> limited = contextManager.truncateByTokenLimit(context, maxContextTokens);
+
+                    return AiEngineRequest.builder()
+                            .message(message)
+                            .sessionId(session.getSessionId())
+                            .context(contextManager.formatContextForAi(limited))
+                            .build();
+                });
+    }
+
+    /**
+     * AI 응답 → assistant 메시지 변환
+     */
+    private Message toAssistantMessage(AiResponse aiResponse) {
+        AiResponse.Metadata metadata = aiResponse.getMetadata();
+        return Message.assistantMessage(
+                aiResponse.getMessage(),
+                Message.MessageMetadata.builder()
+                        .processingTime(aiResponse.getProcessingTime())
+                        .toolResults(metadata == null ? null : metadata.getToolResults())
+                        .selectedTools(metadata == null ? null : metadata.getSelectedTools())
+                        .build()
+        );
+    }
+
+    private ChatResponse.Metadata toResponseMetadata(AiResponse aiResponse) {
+        if (aiResponse.getMetadata() == null) {
+            return null;
+        }
+        return ChatResponse.Metadata.builder()
+                .complexityScore(aiResponse.getMetadata().getComplexityScore())
+                .selectedTools(aiResponse.getMetadata().getSelectedTools())
+                .toolResults(aiResponse.getMetadata().getToolResults())
+                .build();
+    }
+
+    private Map<String, Object> doneData(String sessionId, AiResponse aiResponse) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("success", aiResponse.isSuccess());
+        data.put("sessionId", sessionId);
+        data.put("processingTime", aiResponse.getProcessingTime());
+        data.put("metadata", toResponseMetadata(aiResponse));
+        return data;
+    }
+
+    private Map<String, String> tokenData(String token) {
+        return Map.of("t", token);
+    }
+
+    private ServerSentEvent<Object> sseEvent(String name, Object data) {
+        return ServerSentEvent.builder()
+                .event(name)
+                .data(data)
+                .build();
     }
 
 
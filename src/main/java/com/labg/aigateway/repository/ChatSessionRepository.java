@@ -2,11 +2,8 @@ package com.labg.aigateway.repository;
 
 import com.labg.aigateway.entity.ChatSession;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-
 /**
  * packageName    : com.labg.aigateway.repository
  * fileName       : ChatSessionRepository
@@ -21,6 +18,4 @@ import java.time.LocalDateTime;
 public interface ChatSessionRepository extends ReactiveMongoRepository<ChatSession, String> {
 
     Mono<ChatSession> findBySessionId(String sessionId);
-
-    Flux<ChatSession> findByLastAccessedAtBefore(LocalDateTime expiryTime);
 }
@@ -31,7 +31,9 @@ public class ChatRouter {
     public RouterFunction<ServerResponse> chatRoutes() {
         return RouterFunctions.route()
                 .POST("/api/chat/query", RequestPredicates.accept(MediaType.APPLICATION_JSON), chatHandler::handleChat)
+                .POST("/api/chat/stream", RequestPredicates.accept(MediaType.TEXT_EVENT_STREAM), chatHandler::handleChatStream)
                 .POST("/api/chat/upload-pdf", RequestPredicates.accept(MediaType.MULTIPART_FORM_DATA), chatHandler::uploadPdf)
+                .GET("/api/chat/sessions/{sessionId}/messages", chatHandler::getHistory)
                 .build();
     }
 }
@@ -1,23 +1,49 @@
 package com.labg.aigateway.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.labg.aigateway.dto.request.AiEngineRequest;
 import com.labg.aigateway.dto.response.AiResponse;
-import com.labg.aigateway.dto.response.HealthResponse;
+import com.labg.aigateway.util.CancelReason;
+import com.labg.aigateway.util.Deadline;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.core.functions.Either;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.PooledByteBufAllocator;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * packageName    : com.labg.aigateway.service
@@ -36,31 +62,107 @@ import java.util.Map;
 @Slf4j
 public class AiEngineClient {
 
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    // hedge에서 진 시도는 취소로 집계하지 않음
+    private static final Set<CancelReason.Reason> COUNTED_REASONS =
+            EnumSet.of(CancelReason.Reason.CLIENT, CancelReason.Reason.DEADLINE);
+
+    private static final String RETRY_NAME = "aiEngine";
+
     private final WebClient webClient;
+    private final EngineConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final RequestHedger requestHedger;
+    private final EnginePool enginePool;
+    private final RetryRegistry retryRegistry;
     @Value("${ai-engine.timeout}")
     Duration timeout;
-    @Value("${ai-engine.retry.max-attempts:3}")
-    private int maxAttempts;
-    @Value("${ai-engine.retry.backoff:1s}")
-    private Duration backoff;
+    @Value("${deadline.min-attempt:2s}")
+    private Duration minAttempt;
+    @Value("${ai-engine.abort.enabled:false}")
+    private boolean abortEnabled;
+    @Value("${ai-engine.abort.path:/api/chat/abort}")
+    private String abortPath;
+
+    // @Retry(name = "aiEngine")와 같은 설정 (재시도 대기 시간 계산용)
+    private RetryConfig retryConfig;
+
+    // 요청 타입 고정 writer (호출마다 직렬화기 탐색 없음)
+    private ObjectWriter requestWriter;
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    // 완료된 호출 소요 시간 EWMA (취소 시 절약된 엔진 시간 추정용)
+    private final AtomicLong queryAvgNanos = new AtomicLong();
+    private final AtomicLong streamAvgNanos = new AtomicLong();
+    private Map<CancelReason.Reason, Counter> queryCancelledCounters;
+    private Map<CancelReason.Reason, Counter> streamCancelledCounters;
+    private Map<CancelReason.Reason, Counter> gpuSecondsSavedCounters;
+
+    @PostConstruct
+    void init() {
+        this.requestWriter = objectMapper.writerFor(AiEngineRequest.class);
+        this.retryConfig = retryRegistry.retry(RETRY_NAME).getRetryConfig();
+        this.queryCancelledCounters = cancelCounters("query");
+        this.streamCancelledCounters = cancelCounters("stream");
+        this.gpuSecondsSavedCounters = new EnumMap<>(CancelReason.Reason.class);
+        for (CancelReason.Reason reason : COUNTED_REASONS) {
+            gpuSecondsSavedCounters.put(reason, Counter.builder("ai.engine.gpu.seconds.saved")
+                    .description("취소로 절약된 AI Engine 처리 시간 추정치 (평균 소요 시간 - 경과 시간)")
+                    .baseUnit("seconds")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 취소 원인별 카운터 (client: 클라이언트 연결 종료, deadline: 요청 마감/호출 timeout)
+     */
+    private Map<CancelReason.Reason, Counter> cancelCounters(String endpoint) {
+        Map<CancelReason.Reason, Counter> counters = new EnumMap<>(CancelReason.Reason.class);
+        for (CancelReason.Reason reason : COUNTED_REASONS) {
+            counters.put(reason, Counter.builder("ai.engine.cancelled")
+                    .description("응답 전에 취소된 AI Engine 호출 수")
+                    .tag("endpoint", endpoint)
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+        return counters;
+    }
 
 
     /**
      * Python AI Engine에 쿼리 전송
      */
     @CircuitBreaker(name = "aiEngine", fallbackMethod = "queryFallback")
-    @Retry(name = "aiEngine")
+    @Retry(name = RETRY_NAME)
     public Mono<AiResponse> query(AiEngineRequest request) {
         log.debug("AI Engine 요청 - sessionId: {}, message length: {}",
                   request.getSessionId(), request.getMessage().length());
 
-        return webClient.post()
-                .uri("/api/chat/query")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(AiResponse.class)
-                .timeout(timeout)
+        // 재시도 시에도 시도마다 동시 호출 허가를 다시 받음
+        // 클라이언트가 연결을 끊으면 취소 신호가 그대로 전달되어 HTTP 요청이 중단되고 재시도도 일어나지 않음
+        // 대기열 대기를 포함해 요청 마감까지 남은 시간만 사용, 다음 시도가 들어가지 않으면 재시도하지 않음
+        // 엔진 호출 timeout은 엔드포인트 호출 안에서 적용 (timeout도 엔드포인트 실패로 집계되도록)
+        // hedging은 ai-engine.hedging.operations에 query가 포함된 경우만 (기본: 멱등 호출만)
+        // hedge/재시도는 가능하면 이미 사용한 엔드포인트를 피함 (used는 @Retry 재구독 간에도 유지)
+        // 재시도 대기 시간은 시도 번호에 따라 달라지므로 (exponential backoff) 재구독마다 시도 번호 증가
+        Set<EnginePool.Endpoint> used = ConcurrentHashMap.newKeySet();
+        AtomicInteger attempts = new AtomicInteger();
+        return Mono.deferContextual(context -> {
+                    int attempt = attempts.incrementAndGet();
+                    return Deadline.bound(requestHedger.hedge("query", () ->
+                                concurrencyLimiter.limit(enginePool.execute(request.getSessionId(), used, endpoint ->
+                                        Deadline.bound(trackCancellation(webClient.post()
+                                                .uri(endpoint.resolve("/api/chat/query"))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .body(jsonBody(request))
+                                                .retrieve()
+                                                .bodyToMono(AiResponse.class), request, endpoint), timeout)))))
+                            .onErrorMap(Deadline.retryGuard(context, error -> nextAttemptCost(attempt, error)));
+                })
                 .doOnSuccess(response ->
                     log.info("AI Engine 응답 성공 - sessionId: {}, processingTime: {}s", response.getSessionId(), response.getProcessingTime())
                 )
@@ -70,6 +172,32 @@ public class AiEngineClient {
     }
 
 
+    /**
+     * 다음 재시도까지 필요한 시간 (resilience4j 재시도 설정의 attempt번째 대기 시간 + 최소 실행 시간)
+     * 마지막 시도였거나 재시도 대상 예외가 아니면 null
+     */
+    private Duration nextAttemptCost(int attempt, Throwable error) {
+        if (attempt >= retryConfig.getMaxAttempts() || !retryConfig.getExceptionPredicate().test(error)) {
+            return null;
+        }
+        long waitMillis = retryConfig.getIntervalBiFunction().apply(attempt, Either.left(error));
+        return Duration.ofMillis(waitMillis).plus(minAttempt);
+    }
+
+    /**
+     * 동시 호출 제한으로 거절된 경우 대체 응답 대신 503 그대로 전달 (캐시/대화 기록에 남지 않도록)
+     */
+    private Mono<AiResponse> queryFallback(AiEngineRequest request, EngineConcurrencyLimiter.LimitExceededException exception) {
+        return Mono.error(exception);
+    }
+
+    /**
+     * 요청 마감 초과도 대체 응답 대신 504 그대로 전달
+     */
+    private Mono<AiResponse> queryFallback(AiEngineRequest request, Deadline.DeadlineExceededException exception) {
+        return Mono.error(exception);
+    }
+
     private Mono<AiResponse> queryFallback(AiEngineRequest request, Exception exception) {
         log.warn("Circuit Breaker Fallback 실행 - sessionId: {}, error: {}",
                 request.getSessionId(), exception.getMessage());
@@ -84,36 +212,155 @@ public class AiEngineClient {
     }
 
     /**
-     * AI Engine 헬스체크
-     * Python API의 구조화된 헬스체크 응답을 받아서 반환
-     *
-     * @return HealthResponse (상태, 서비스 정보 등 포함)
+     * Python AI Engine에 스트리밍 쿼리 전송 (SSE)
+     * 엔진이 생성하는 토큰 청크를 도착하는 즉시 그대로 흘려보냄
+     * - 재시도는 이미 전달된 토큰이 중복되므로 적용하지 않음
+     * - 첫 청크는 요청 마감까지 남은 시간 안에, 이후는 청크 간 유휴 시간(timeout) 기준으로 적용됨
      */
-    public Mono<HealthResponse> healthCheck() {
-        log.debug("AI Engine 헬스체크 시작");
+    @CircuitBreaker(name = "aiEngine", fallbackMethod = "queryStreamFallback")
+    public Flux<ServerSentEvent<String>> queryStream(AiEngineRequest request) {
+        log.debug("AI Engine 스트리밍 요청 - sessionId: {}, message length: {}",
+                  request.getSessionId(), request.getMessage().length());
 
-        return webClient.get()
-                .uri("/api/health/")  // trailing slash 포함 (리다이렉트 방지)
-                .retrieve()
-                .bodyToMono(HealthResponse.class)
-                .doOnSuccess(response -> 
-                    log.debug("AI Engine 헬스체크 성공 - status: {}, routerAvailable: {}, uptime: {}", 
-                            response.getStatus(), response.getRouterAvailable(), response.getUptime())
+        return concurrencyLimiter.limitStream(enginePool.executeStream(request.getSessionId(), endpoint ->
+                                Deadline.boundFirst(trackCancellation(webClient.post()
+                                        .uri(endpoint.resolve("/api/chat/stream"))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .accept(MediaType.TEXT_EVENT_STREAM)
+                                        .body(jsonBody(request))
+                                        .retrieve()
+                                        .bodyToFlux(SSE_TYPE), request, endpoint), timeout)))
+                .doOnComplete(() ->
+                    log.info("AI Engine 스트리밍 완료 - sessionId: {}", request.getSessionId())
                 )
+                .doOnError(error ->
+                    log.error("AI Engine 스트리밍 실패 - sessionId: {}, error: {}", request.getSessionId(), error.getMessage())
+                );
+    }
+
+    private Flux<ServerSentEvent<String>> queryStreamFallback(AiEngineRequest request, EngineConcurrencyLimiter.LimitExceededException exception) {
+        return Flux.just(ServerSentEvent.<String>builder()
+                .event("error")
+                .data(exception.getReason())
+                .build());
+    }
+
+    private Flux<ServerSentEvent<String>> queryStreamFallback(AiEngineRequest request, Deadline.DeadlineExceededException exception) {
+        return Flux.just(ServerSentEvent.<String>builder()
+                .event("error")
+                .data(exception.getReason())
+                .build());
+    }
+
+    private Flux<ServerSentEvent<String>> queryStreamFallback(AiEngineRequest request, Exception exception) {
+        log.warn("Circuit Breaker Fallback 실행(스트리밍) - sessionId: {}, error: {}",
+                request.getSessionId(), exception.getMessage());
+
+        return Flux.just(ServerSentEvent.<String>builder()
+                .event("error")
+                .data("현재 AI 서비스를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해주세요.")
+                .build());
+    }
+
+    /**
+     * 응답 전 취소된 호출 집계 (취소 원인별) + (설정 시) 엔진에 중단 요청
+     */
+    private Mono<AiResponse> trackCancellation(Mono<AiResponse> call, AiEngineRequest request, EnginePool.Endpoint endpoint) {
+        return Mono.deferContextual(context -> {
+            long startNanos = System.nanoTime();
+            CancelReason cancel = CancelReason.childOf(context);
+            return call
+                    .doOnSuccess(response -> updateAverage(queryAvgNanos, System.nanoTime() - startNanos))
+                    .doOnCancel(() -> onCancelled(request, endpoint, cancel.reason(), queryCancelledCounters,
+                            queryAvgNanos, System.nanoTime() - startNanos));
+        });
+    }
+
+    private Flux<ServerSentEvent<String>> trackCancellation(Flux<ServerSentEvent<String>> call, AiEngineRequest request,
+                                                            EnginePool.Endpoint endpoint) {
+        return Flux.deferContextual(context -> {
+            long startNanos = System.nanoTime();
+            CancelReason cancel = CancelReason.childOf(context);
+            // done 이벤트 이후의 취소(takeUntil 등 정상 종료)는 집계하지 않음
+            AtomicBoolean finished = new AtomicBoolean(false);
+            return call
+                    .doOnNext(event -> {
+                        if ("done".equals(event.event()) && finished.compareAndSet(false, true)) {
+                            updateAverage(streamAvgNanos, System.nanoTime() - startNanos);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (finished.compareAndSet(false, true)) {
+                            updateAverage(streamAvgNanos, System.nanoTime() - startNanos);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (!finished.get()) {
+                            onCancelled(request, endpoint, cancel.reason(), streamCancelledCounters,
+                                    streamAvgNanos, System.nanoTime() - startNanos);
+                        }
+                    });
+        });
+    }
+
+    private void onCancelled(AiEngineRequest request, EnginePool.Endpoint endpoint, CancelReason.Reason reason,
+                             Map<CancelReason.Reason, Counter> cancelledCounters, AtomicLong avgNanos, long elapsedNanos) {
+        if (reason == CancelReason.Reason.HEDGE) {
+            // 같은 session_id의 다른 시도가 응답을 받았으므로 집계/중단 요청 생략 (중단 요청이 이긴 시도의 세션까지 멈출 수 있음)
+            log.debug("hedge에서 진 AI Engine 호출 취소 - sessionId: {}", request.getSessionId());
+            return;
+        }
+        cancelledCounters.get(reason).increment();
+        long savedNanos = avgNanos.get() - elapsedNanos;
+        if (savedNanos > 0) {
+            gpuSecondsSavedCounters.get(reason).increment(savedNanos / 1_000_000_000.0);
+        }
+        log.info("AI Engine 호출 취소 - sessionId: {}, reason: {}, elapsed: {}ms",
+                request.getSessionId(), reason.tag(), elapsedNanos / 1_000_000);
+
+        if (abortEnabled) {
+            abort(endpoint, request.getSessionId());
+        }
+    }
+
+    /**
+     * 호출을 처리하던 엔드포인트에 세션 생성 중단 요청 (HTTP 연결 종료를 감지하지 못하는 엔진 대비, 실패는 무시)
+     */
+    private void abort(EnginePool.Endpoint endpoint, String sessionId) {
+        webClient.post()
+                .uri(endpoint.resolve(abortPath))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("session_id", sessionId))
+                .retrieve()
+                .toBodilessEntity()
                 .timeout(Duration.ofSeconds(5))
-                .doOnError(error -> 
-                    log.error("AI Engine 헬스체크 실패 - error: {}", error.getMessage())
-                )
-                .onErrorResume(error -> {
-                    // 에러 발생 시 unhealthy 상태로 반환
-                    return Mono.just(HealthResponse.builder()
-                            .status("unhealthy")
-                            .service("Smart-RAG Chat")
-                            .version("unknown")
-                            .routerAvailable(false)
-                            .uptime("0")
-                            .build());
-                });
+                .doOnError(error -> log.debug("AI Engine 중단 요청 실패 - sessionId: {}, error: {}", sessionId, error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .subscribe();
+    }
+
+    /**
+     * EWMA(α = 0.2) 갱신
+     */
+    private static void updateAverage(AtomicLong avgNanos, long sampleNanos) {
+        avgNanos.getAndUpdate(prev -> prev == 0 ? sampleNanos : prev + (sampleNanos - prev) / 5);
+    }
+
+    /**
+     * 요청 본문을 pooled DataBuffer에 바로 직렬화 (중간 byte[]/String 없음)
+     * 재시도 시 구독마다 새 버퍼를 만들고, 전송 후 버퍼는 Netty가 해제
+     */
+    private BodyInserter<Mono<DataBuffer>, ReactiveHttpOutputMessage> jsonBody(AiEngineRequest request) {
+        return BodyInserters.fromDataBuffers(Mono.fromCallable(() -> {
+            DataBuffer buffer = bufferFactory.allocateBuffer(256);
+            try (OutputStream out = buffer.asOutputStream()) {
+                requestWriter.writeValue(out, request);
+                return buffer;
+            } catch (Exception e) {
+                DataBufferUtils.release(buffer);
+                throw e;
+            }
+        }));
     }
 
     /**
@@ -137,13 +384,14 @@ public class AiEngineClient {
         builder.part("add_to_chroma", String.valueOf(addToChroma))
                 .contentType(MediaType.TEXT_PLAIN);
 
-        return webClient.post()
-                .uri("/api/chat/upload-pdf")
-                .contentType(MediaType.MULTIPART_FORM_DATA)
-                .body(BodyInserters.fromMultipartData(builder.build()))
-                .retrieve()
-                .bodyToMono(new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {})
-                .timeout(Duration.ofSeconds(Math.max(60, (int) timeout.toSeconds())))
+        Duration uploadTimeout = Duration.ofSeconds(Math.max(60, (int) timeout.toSeconds()));
+        Set<EnginePool.Endpoint> used = ConcurrentHashMap.newKeySet();
+        return enginePool.execute(null, used, endpoint -> Deadline.bound(webClient.post()
+                        .uri(endpoint.resolve("/api/chat/upload-pdf"))
+                        .contentType(MediaType.MULTIPART_FORM_DATA)
+                        .body(BodyInserters.fromMultipartData(builder.build()))
+                        .retrieve()
+                        .bodyToMono(new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {}), uploadTimeout))
                 .doOnSuccess(res -> log.info("PDF 업로드 응답 성공 - filename: {}", filePart.filename()))
                 .doOnError(err -> log.error("PDF 업로드 실패 - filename: {}, error: {}", filePart.filename(), err.getMessage()));
     }
@@ -165,11 +413,15 @@ public class AiEngineClient {
     public Mono<String> analyzeIntent(String text) {
         log.debug("의도 분석 요청 - text length: {}", text.length());
 
-        return webClient.post()
-                .uri("/api/v1/internal/analyze")
-                .bodyValue(text)
-                .retrieve()
-                .bodyToMono(String.class)
+        // 멱등 호출이므로 느린 워커 대비 hedging 대상
+        return Mono.defer(() -> {
+                    Set<EnginePool.Endpoint> used = ConcurrentHashMap.newKeySet();
+                    return requestHedger.hedge("intent", () -> enginePool.execute(null, used, endpoint -> webClient.post()
+                            .uri(endpoint.resolve("/api/v1/internal/analyze"))
+                            .bodyValue(text)
+                            .retrieve()
+                            .bodyToMono(String.class)));
+                })
                 .timeout(Duration.ofSeconds(10))
                 .doOnSuccess(result ->log.debug("의도 분석 성공 - result: {}", result))
                 .onErrorResume(error -> {
@@ -188,11 +440,15 @@ public class AiEngineClient {
     public Mono<double[][]> generateEmbeddings(String[] texts) {
         log.debug("임베딩 생성 요청 - texts count: {}", texts.length);
 
-        return webClient.post()
-                .uri("/api/v1/internal/embed")
-                .bodyValue(texts)
-                .retrieve()
-                .bodyToMono(double[][].class)
+        // 멱등 호출이므로 느린 워커 대비 hedging 대상
+        return Mono.defer(() -> {
+                    Set<EnginePool.Endpoint> used = ConcurrentHashMap.newKeySet();
+                    return requestHedger.hedge("embed", () -> enginePool.execute(null, used, endpoint -> webClient.post()
+                            .uri(endpoint.resolve("/api/v1/internal/embed"))
+                            .bodyValue(texts)
+                            .retrieve()
+                            .bodyToMono(double[][].class)));
+                })
                 .timeout(Duration.ofSeconds(15))
                 .doOnSuccess(embeddings ->log.debug("임베딩 생성 성공 - count: {}", embeddings.length))
                 .onErrorResume(error -> {
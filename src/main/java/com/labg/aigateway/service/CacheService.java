@@ -2,8 +2,11 @@ package com.labg.aigateway.service;
 
 import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.dto.response.CachedResponseBody;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * packageName    : com.labg.aigateway.service
  * fileName       : CacheService
@@ -18,8 +21,12 @@ import reactor.core.publisher.Mono;
 public interface CacheService {
     Mono<AiResponse> getCachedResponse(String sessionId, String message);
     Mono<Boolean> cacheResponse(String sessionId, String message, AiResponse response);
+    Mono<CachedResponseBody> getCachedResponseBody(String sessionId, String message);
+    Mono<Boolean> cacheResponseBody(String sessionId, String message, CachedResponseBody body);
     Mono<ChatSession> getCachedSession(String sessionId);
     Mono<Boolean> cacheSession(ChatSession session);
     Mono<Boolean> invalidateCache(String sessionId);
     Mono<Boolean> invalidateQueryCache(String sessionId);
+    Mono<Long> invalidateSessions(List<String> sessionIds);
+    String queryCacheKey(String sessionId, String message);
 }
@@ -1,10 +1,11 @@
 package com.labg.aigateway.service;
 
+import com.labg.aigateway.dto.request.AiEngineRequest;
 import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.entity.Message;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * packageName    : com.labg.aigateway.service
@@ -18,9 +19,8 @@ import java.util.Map;
  * 2025-10-29          이가은             최초 생성
  */
 public interface ContextManager {
-    List<Message> getRecentContext(ChatSession session, int maxMessages);
-    Map<String, Object> formatContextForAi(List<Message> messages);
+    Mono<List<Message>> getRecentContext(ChatSession session, int maxMessages);
+    AiEngineRequest.Context formatContextForAi(List<Message> messages);
     List<Message> truncateByTokenLimit(List<Message> messages, int maxTokens);
-    boolean shouldTruncateContext(ChatSession session);
 
 }
@@ -0,0 +1,274 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.entity.ChatSession;
+import com.labg.aigateway.entity.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : ConversationSummarizer
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 롤링 대화 요약 (최근 메시지 이전 구간을 추출 요약으로 압축해 세션에 저장)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class ConversationSummarizer {
+
+    public static final String SUMMARY_ROLE = "system";
+    private static final String SUMMARY_PREFIX = "이전 대화 요약:\n";
+
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("(?<=[.!?。])\\s+|\\n+");
+    private static final Pattern TERM_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 기존 요약 문장은 이어지는 맥락이므로 우선 보존, 사용자 문장은 주제를 담고 있어 가중
+    private static final double PREVIOUS_SUMMARY_WEIGHT = 1.5;
+    private static final double USER_WEIGHT = 1.2;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MessageStore messageStore;
+    private final CacheService cacheService;
+    private final TokenCounter tokenCounter;
+    private final boolean enabled;
+    private final int keepRecent;
+    private final int triggerMessages;
+    private final int maxSummaryTokens;
+
+    // 요약 진행 중인 세션 (레플리카 간 중복은 summarizedUntilSeq 조건부 갱신으로 방지)
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    private final Timer summarizeTimer;
+    private final Counter successCounter;
+    private final Counter conflictCounter;
+    private final Counter errorCounter;
+
+    public ConversationSummarizer(ReactiveMongoTemplate mongoTemplate,
+                                  MessageStore messageStore,
+                                  CacheService cacheService,
+                                  TokenCounter tokenCounter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${context.summary.enabled:false}") boolean enabled,
+                                  @Value("${context.summary.keep-recent:10}") int keepRecent,
+                                  @Value("${context.summary.trigger-messages:20}") int triggerMessages,
+                                  @Value("${context.summary.max-tokens:400}") int maxSummaryTokens) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageStore = messageStore;
+        this.cacheService = cacheService;
+        this.tokenCounter = tokenCounter;
+        this.enabled = enabled;
+        this.keepRecent = Math.max(0, keepRecent);
+        this.triggerMessages = Math.max(this.keepRecent + 1, triggerMessages);
+        this.maxSummaryTokens = maxSummaryTokens;
+
+        this.summarizeTimer = Timer.builder("context.summary.duration")
+                .description("롤링 요약 소요 시간")
+                .register(meterRegistry);
+        this.successCounter = Counter.builder("context.summary.runs")
+                .description("롤링 요약 실행 수")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("context.summary.runs")
+                .description("롤링 요약 실행 수")
+                .tag("result", "conflict")
+                .register(meterRegistry);
+        this.errorCounter = Counter.builder("context.summary.runs")
+                .description("롤링 요약 실행 수")
+                .tag("result", "error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요약되지 않은 메시지가 trigger-messages를 넘으면 비동기로 요약 (응답 흐름은 기다리지 않음)
+     * 최근 keep-recent개는 원문 그대로 두고 그 이전 구간 + 기존 요약을 새 요약으로 합침
+     * 요약 후 세션 캐시를 갱신하므로 호출 측의 세션 캐시 쓰기가 끝난 뒤 호출해야 함
+     */
+    public void maybeSummarize(ChatSession session) {
+        if (!enabled || session == null) {
+            return;
+        }
+
+        long messageCount = valueOf(session.getMessageCount());
+        long summarizedUntil = valueOf(session.getSummarizedUntilSeq());
+        if (messageCount - summarizedUntil <= triggerMessages) {
+            return;
+        }
+
+        String sessionId = session.getSessionId();
+        if (!running.add(sessionId)) {
+            return;
+        }
+
+        long until = messageCount - keepRecent;
+        long startNanos = System.nanoTime();
+        messageStore.findRange(sessionId, summarizedUntil, until)
+                .publishOn(Schedulers.boundedElastic())
+                .map(messages -> summarize(session.getSummary(), messages))
+                .flatMap(summary -> save(sessionId, summarizedUntil, until, summary))
+                .doOnNext(updated -> {
+                    successCounter.increment();
+                    log.debug("대화 요약 완료 - sessionId: {}, summarizedUntilSeq: {}", sessionId, until);
+                })
+                .flatMap(updated -> cacheService.cacheSession(updated).onErrorReturn(false))
+                .switchIfEmpty(Mono.fromRunnable(conflictCounter::increment))
+                .doOnError(error -> {
+                    errorCounter.increment();
+                    log.warn("대화 요약 실패 - sessionId: {}, error: {}", sessionId, error.getMessage());
+                })
+                .doFinally(signal -> {
+                    running.remove(sessionId);
+                    summarizeTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                })
+                .onErrorResume(error -> Mono.empty())
+                .subscribe();
+    }
+
+    /**
+     * 세션 요약을 AI 컨텍스트 맨 앞에 넣을 메시지로 변환 (요약이 없으면 null)
+     */
+    public Message summaryMessage(ChatSession session) {
+        if (session == null || session.getSummary() == null || session.getSummary().isBlank()) {
+            return null;
+        }
+        return Message.builder()
+                .role(SUMMARY_ROLE)
+                .content(SUMMARY_PREFIX + session.getSummary())
+                .build();
+    }
+
+    /**
+     * 다른 요청이 먼저 요약했으면(summarizedUntilSeq 변경) 덮어쓰지 않음
+     */
+    private Mono<ChatSession> save(String sessionId, long expectedUntil, long until, String summary) {
+        Criteria expected = expectedUntil == 0
+                ? Criteria.where("summarizedUntilSeq").in(0L, null)
+                : Criteria.where("summarizedUntilSeq").is(expectedUntil);
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId)).addCriteria(expected);
+        Update update = new Update()
+                .set("summary", summary)
+                .set("summarizedUntilSeq", until);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), ChatSession.class);
+    }
+
+    /**
+     * 추출 요약 - 문장별로 구간 내 단어 빈도 합(길이 정규화)을 점수로 상위 문장을 골라 원래 순서로 나열
+     */
+    private String summarize(String previousSummary, List<Message> messages) {
+        List<Sentence> candidates = new ArrayList<>();
+        if (previousSummary != null) {
+            for (String line : previousSummary.split("\n")) {
+                if (!line.isBlank()) {
+                    candidates.add(new Sentence(candidates.size(), line.strip(), PREVIOUS_SUMMARY_WEIGHT));
+                }
+            }
+        }
+        for (Message message : messages) {
+            if (message.getContent() == null) continue;
+            boolean user = "user".equals(message.getRole());
+            String prefix = user ? "사용자: " : "AI: ";
+            for (String sentence : SENTENCE_SPLIT.split(message.getContent())) {
+                if (!sentence.isBlank()) {
+                    candidates.add(new Sentence(candidates.size(), prefix + sentence.strip(), user ? USER_WEIGHT : 1.0));
+                }
+            }
+        }
+
+        Map<String, Integer> frequency = new HashMap<>();
+        for (Sentence sentence : candidates) {
+            for (String term : sentence.terms()) {
+                frequency.merge(term, 1, Integer::sum);
+            }
+        }
+        for (Sentence sentence : candidates) {
+            sentence.score(frequency);
+        }
+
+        candidates.sort(Comparator.comparingDouble(Sentence::score).reversed());
+        List<Sentence> selected = new ArrayList<>();
+        int budget = maxSummaryTokens;
+        for (Sentence sentence : candidates) {
+            int cost = tokenCounter.count(sentence.text);
+            if (cost <= budget) {
+                selected.add(sentence);
+                budget -= cost;
+            }
+        }
+
+        selected.sort(Comparator.comparingInt(sentence -> sentence.order));
+        StringBuilder summary = new StringBuilder();
+        for (Sentence sentence : selected) {
+            if (!summary.isEmpty()) summary.append('\n');
+            summary.append(sentence.text);
+        }
+        return summary.toString();
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static final class Sentence {
+        private final int order;
+        private final String text;
+        private final double weight;
+        private final List<String> terms;
+        private double score;
+
+        Sentence(int order, String text, double weight) {
+            this.order = order;
+            this.text = text;
+            this.weight = weight;
+            this.terms = Arrays.stream(TERM_SPLIT.split(text.toLowerCase(Locale.ROOT)))
+                    .filter(term -> term.length() >= 2)
+                    .toList();
+        }
+
+        List<String> terms() {
+            return terms;
+        }
+
+        void score(Map<String, Integer> frequency) {
+            if (terms.isEmpty()) {
+                score = 0;
+                return;
+            }
+            long sum = 0;
+            for (String term : terms) {
+                sum += frequency.getOrDefault(term, 0);
+            }
+            score = weight * sum / Math.sqrt(terms.size());
+        }
+
+        double score() {
+            return score;
+        }
+    }
+}
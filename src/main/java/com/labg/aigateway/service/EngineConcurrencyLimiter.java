@@ -0,0 +1,306 @@
+package com.labg.aigateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : EngineConcurrencyLimiter
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : AI Engine 동시 호출 수를 지연 시간 기반으로 조절 (AIMD)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class EngineConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final Duration queueTimeout;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    // 상태 변경은 모두 lock 안에서 수행 (연산이 짧아 경합 비용이 작음)
+    private final Object lock = new Object();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long baselineRttNanos;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer queueWaitTimer;
+    private final Counter queueFullCounter;
+    private final Counter queueTimeoutCounter;
+
+    public EngineConcurrencyLimiter(@Value("${ai-engine.concurrency.initial-limit:10}") int initialLimit,
+                                    @Value("${ai-engine.concurrency.min-limit:2}") int minLimit,
+                                    @Value("${ai-engine.concurrency.max-limit:64}") int maxLimit,
+                                    @Value("${ai-engine.concurrency.max-queue:50}") int maxQueue,
+                                    @Value("${ai-engine.concurrency.queue-timeout:5s}") Duration queueTimeout,
+                                    @Value("${ai-engine.concurrency.latency-tolerance:2.0}") double latencyTolerance,
+                                    @Value("${ai-engine.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                    MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.queueTimeout = queueTimeout;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("ai.engine.concurrency.limit", this, EngineConcurrencyLimiter::currentLimit)
+                .description("AI Engine 동시 호출 허용 수 (적응형)")
+                .register(meterRegistry);
+        Gauge.builder("ai.engine.concurrency.inflight", this, EngineConcurrencyLimiter::currentInFlight)
+                .description("AI Engine 동시 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.engine.concurrency.queue", queued, AtomicInteger::get)
+                .description("AI Engine 호출 대기 수")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("ai.engine.concurrency.queue.wait")
+                .description("AI Engine 호출 허가 대기 시간")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("ai.engine.concurrency.rejected")
+                .description("동시 호출 제한으로 거절된 AI Engine 호출 수")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+        this.queueTimeoutCounter = Counter.builder("ai.engine.concurrency.rejected")
+                .description("동시 호출 제한으로 거절된 AI Engine 호출 수")
+                .tag("reason", "queue-timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 허가를 받은 뒤 호출 실행, 완료 시 응답 시간으로 limit 조정
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.usingWhen(acquire(), permit -> call,
+                permit -> permit.release(true, null),
+                (permit, error) -> permit.release(false, error),
+                permit -> permit.release(false, null));
+    }
+
+    /**
+     * 스트리밍 호출용 - 허가만 점유하고 응답 시간은 limit 조정에 사용하지 않음
+     * (스트림 길이는 생성 토큰 수에 비례하므로 혼잡 신호로 부적합)
+     */
+    public <T> Flux<T> limitStream(Flux<T> call) {
+        return Flux.usingWhen(acquire(), permit -> call,
+                permit -> permit.release(false, null),
+                (permit, error) -> permit.release(false, error),
+                permit -> permit.release(false, null));
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = null;
+            Waiter waiter = null;
+            synchronized (lock) {
+                if (inFlight < (int) limit) {
+                    inFlight++;
+                    permit = new Permit(inFlight);
+                } else if (waiters.size() < maxQueue) {
+                    waiter = new Waiter(sink, System.nanoTime());
+                    waiters.addLast(waiter);
+                    queued.incrementAndGet();
+                }
+            }
+
+            if (permit != null) {
+                final Permit acquired = permit;
+                sink.onCancel(() -> acquired.releaseNow(false, null));
+                sink.success(acquired);
+                return;
+            }
+            if (waiter == null) {
+                queueFullCounter.increment();
+                sink.error(new LimitExceededException("AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요"));
+                return;
+            }
+            registerDeadline(sink, waiter);
+        });
+    }
+
+    /**
+     * 대기자의 기한 만료/구독 취소 처리 등록
+     */
+    private void registerDeadline(MonoSink<Permit> sink, Waiter waiter) {
+        // 대기 기한 초과 시 실패 처리
+        waiter.timer = Schedulers.parallel().schedule(() -> {
+            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.EXPIRED)) {
+                remove(waiter);
+                queueTimeoutCounter.increment();
+                queueWaitTimer.record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+                sink.error(new LimitExceededException("AI 요청 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요"));
+            }
+        }, queueTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        // 대기 중 구독 취소 (클라이언트 연결 종료 등)
+        sink.onCancel(() -> {
+            if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                waiter.timer.dispose();
+                remove(waiter);
+            } else if (waiter.state.get() == Waiter.GRANTED) {
+                // 허가 전달 직전에 취소된 경우 허가 반환 (이미 전달됐다면 중복 반환되지 않음)
+                waiter.permit.releaseNow(false, null);
+            }
+        });
+    }
+
+    private void remove(Waiter waiter) {
+        synchronized (lock) {
+            if (waiters.remove(waiter)) {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 허가 반환 + limit 조정 후 빈 자리만큼 대기자에게 허가 전달
+     */
+    private void onRelease(Permit permit, boolean sample, Throwable error) {
+        long rtt = System.nanoTime() - permit.startedAt;
+        Deque<Waiter> granted = new ArrayDeque<>();
+
+        synchronized (lock) {
+            inFlight--;
+            if (error instanceof TimeoutException) {
+                decrease();
+            } else if (sample) {
+                adjust(rtt, permit.inFlightAtStart);
+            }
+
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                Waiter waiter = waiters.pollFirst();
+                queued.decrementAndGet();
+                waiter.permit = new Permit(inFlight + 1);
+                if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                    inFlight++;
+                    granted.add(waiter);
+                }
+            }
+        }
+
+        // 대기자 깨우기는 lock 밖에서 수행
+        for (Waiter waiter : granted) {
+            waiter.timer.dispose();
+            queueWaitTimer.record(System.nanoTime() - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    /**
+     * AIMD
+     * - 응답 시간이 기준(무부하 RTT 추정치) × tolerance 이하이고 허가를 충분히 사용 중이면 +1/limit
+     * - 기준을 넘거나 timeout이면 × backoffRatio
+     */
+    private void adjust(long rtt, int inFlightAtStart) {
+        if (baselineRttNanos == 0 || rtt < baselineRttNanos) {
+            baselineRttNanos = rtt;
+        } else {
+            // 기준값이 고정되지 않도록 천천히 최근 값 쪽으로 이동
+            baselineRttNanos = (long) (baselineRttNanos * 0.99 + rtt * 0.01);
+        }
+
+        if (rtt > baselineRttNanos * latencyTolerance) {
+            decrease();
+        } else if (inFlightAtStart >= limit / 2) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    private void decrease() {
+        double previous = limit;
+        limit = Math.max(minLimit, limit * backoffRatio);
+        if ((int) previous != (int) limit) {
+            log.debug("AI Engine 동시 호출 limit 감소: {} → {}", (int) previous, (int) limit);
+        }
+    }
+
+    private double currentLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    private double currentInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * 동시 호출 허가 (한 번만 반환됨)
+     */
+    private final class Permit {
+        private final long startedAt = System.nanoTime();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        private Mono<Void> release(boolean sample, Throwable error) {
+            return Mono.fromRunnable(() -> releaseNow(sample, error));
+        }
+
+        private void releaseNow(boolean sample, Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(this, sample, error);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int EXPIRED = 2;
+        private static final int CANCELLED = 3;
+
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Disposable timer = () -> { };
+        private volatile Permit permit;
+
+        private Waiter(MonoSink<Permit> sink, long enqueuedAt) {
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * 대기열 초과/대기 기한 초과 (Circuit Breaker 실패로 집계하지 않음)
+     */
+    public static class LimitExceededException extends ResponseStatusException {
+        public LimitExceededException(String reason) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.dto.response.HealthResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : EnginePool
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 다중 AI Engine 엔드포인트 부하 분산
+ *                  (백그라운드 헬스체크 + 연속 실패 outlier 제외 + in-flight/EWMA 기반 power-of-two-choices)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class EnginePool {
+
+    private final WebClient webClient;
+    private final List<Endpoint> endpoints;
+    private final boolean sessionAffinity;
+    private final int ejectionThreshold;
+    private final Duration baseEjection;
+    private final Duration maxEjection;
+    private final Duration healthTimeout;
+
+    public EnginePool(WebClient webClient,
+                      MeterRegistry meterRegistry,
+                      @Value("${ai-engine.base-url}") String baseUrl,
+                      @Value("${ai-engine.endpoints:}") List<String> urls,
+                      @Value("${ai-engine.pool.session-affinity:false}") boolean sessionAffinity,
+                      @Value("${ai-engine.pool.ejection.consecutive-failures:5}") int ejectionThreshold,
+                      @Value("${ai-engine.pool.ejection.base-time:30s}") Duration baseEjection,
+                      @Value("${ai-engine.pool.ejection.max-time:5m}") Duration maxEjection,
+                      @Value("${ai-engine.pool.health.timeout:5s}") Duration healthTimeout) {
+        this.webClient = webClient;
+        this.sessionAffinity = sessionAffinity;
+        this.ejectionThreshold = Math.max(1, ejectionThreshold);
+        this.baseEjection = baseEjection;
+        this.maxEjection = maxEjection;
+        this.healthTimeout = healthTimeout;
+
+        List<String> configured = urls.stream().map(String::strip).filter(url -> !url.isEmpty()).toList();
+        List<Endpoint> list = new ArrayList<>();
+        for (String url : configured.isEmpty() ? List.of(baseUrl) : configured) {
+            list.add(new Endpoint(url, meterRegistry));
+        }
+        this.endpoints = List.copyOf(list);
+
+        log.info("AI Engine 엔드포인트 - {}, sessionAffinity: {}", configured.isEmpty() ? List.of(baseUrl) : configured, sessionAffinity);
+    }
+
+    /**
+     * 엔드포인트를 골라 호출 (in-flight/지연/실패 집계)
+     * 호출 timeout은 call 안에서 적용해야 실패로 집계됨 (밖에서 걸린 timeout은 취소로만 보임)
+     *
+     * @param affinityKey 세션 고정 키 (affinity 비활성 또는 null이면 무시)
+     * @param used        같은 요청에서 이미 사용한 엔드포인트 (hedge/재시도는 가능하면 다른 엔드포인트로), null 가능
+     *                    재시도 간에도 피하려면 재구독되는 Mono 밖에서 만든 Set을 전달
+     * @param call        엔드포인트 → 호출
+     */
+    public <T> Mono<T> execute(String affinityKey, Set<Endpoint> used, Function<Endpoint, Mono<T>> call) {
+        return Mono.defer(() -> {
+            Endpoint endpoint = choose(affinityKey, used);
+            long startNanos = endpoint.start();
+            AtomicBoolean done = new AtomicBoolean(false);
+            return call.apply(endpoint)
+                    .doOnSuccess(value -> {
+                        if (done.compareAndSet(false, true)) endpoint.succeeded(System.nanoTime() - startNanos);
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) endpoint.failed(error);
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) endpoint.finish();
+                    });
+        });
+    }
+
+    /**
+     * 스트리밍 호출 - 지연은 첫 이벤트 도착 시간 기준, in-flight는 스트림 종료까지 유지
+     * (첫 이벤트/유휴 timeout도 call 안에서 적용)
+     */
+    public <T> Flux<T> executeStream(String affinityKey, Function<Endpoint, Flux<T>> call) {
+        return Flux.defer(() -> {
+            Endpoint endpoint = choose(affinityKey, null);
+            long startNanos = endpoint.start();
+            AtomicBoolean first = new AtomicBoolean(true);
+            AtomicBoolean done = new AtomicBoolean(false);
+            return call.apply(endpoint)
+                    .doOnNext(item -> {
+                        if (first.compareAndSet(true, false)) endpoint.recordLatency(System.nanoTime() - startNanos);
+                    })
+                    .doOnComplete(() -> {
+                        if (done.compareAndSet(false, true)) endpoint.succeeded(-1);
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) endpoint.failed(error);
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) endpoint.finish();
+                    });
+        });
+    }
+
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 엔드포인트 선택
+     * - 가용(헬스체크 통과 + 제외 기간 아님) 엔드포인트 중에서 선택, 하나도 없으면 전체에서 선택 (panic)
+     * - session affinity: rendezvous hashing으로 세션별 고정 (엔드포인트 증감 시 일부 세션만 이동)
+     * - 그 외: 무작위 2개 중 (in-flight + 1) × EWMA 지연이 작은 쪽
+     */
+    Endpoint choose(String affinityKey, Set<Endpoint> used) {
+        if (endpoints.size() == 1) {
+            return remember(endpoints.get(0), used);
+        }
+
+        long now = System.nanoTime();
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now) && (used == null || !used.contains(endpoint))) {
+                candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.isAvailable(now)) candidates.add(endpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.addAll(endpoints);
+        }
+
+        if (sessionAffinity && affinityKey != null && (used == null || used.isEmpty())) {
+            return remember(rendezvous(affinityKey, candidates), used);
+        }
+        if (candidates.size() == 1) {
+            return remember(candidates.get(0), used);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(candidates.size());
+        int j = random.nextInt(candidates.size() - 1);
+        if (j >= i) j++;
+        Endpoint a = candidates.get(i);
+        Endpoint b = candidates.get(j);
+        return remember(a.load() <= b.load() ? a : b, used);
+    }
+
+    private static Endpoint remember(Endpoint endpoint, Collection<Endpoint> used) {
+        if (used != null) used.add(endpoint);
+        return endpoint;
+    }
+
+    private static Endpoint rendezvous(String key, List<Endpoint> candidates) {
+        Endpoint best = candidates.get(0);
+        long bestWeight = Long.MIN_VALUE;
+        for (Endpoint endpoint : candidates) {
+            CRC32 crc = new CRC32();
+            crc.update(endpoint.url.getBytes(StandardCharsets.UTF_8));
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+            long weight = crc.getValue();
+            if (weight > bestWeight) {
+                bestWeight = weight;
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 엔드포인트별 백그라운드 헬스체크 (요청 경로에서는 상태만 참조)
+     */
+    @Scheduled(fixedDelayString = "${ai-engine.pool.health.interval:10s}")
+    public Mono<Void> pollHealth() {
+        return Flux.fromIterable(endpoints)
+                .flatMap(endpoint -> {
+                    long startNanos = System.nanoTime();
+                    return webClient.get()
+                            .uri(endpoint.resolve("/api/health/"))
+                            .retrieve()
+                            .bodyToMono(HealthResponse.class)
+                            .timeout(healthTimeout)
+                            .doOnNext(health -> endpoint.probed(health, null, System.nanoTime() - startNanos))
+                            .doOnError(error -> endpoint.probed(null, error, System.nanoTime() - startNanos))
+                            .onErrorResume(error -> Mono.empty());
+                })
+                .then();
+    }
+
+    private boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * 엔진 엔드포인트 상태
+     */
+    public final class Endpoint {
+
+        private final String url;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong ewmaNanos = new AtomicLong();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private volatile long ejectedUntilNanos;
+        private volatile boolean healthy = true;
+        // 마지막 헬스체크 결과 (헬스 스냅샷용)
+        private volatile HealthResponse lastHealth;
+        private volatile String lastError;
+        private volatile long probeLatencyNanos = -1;
+        private final Counter ejectedCounter;
+
+        Endpoint(String url, MeterRegistry meterRegistry) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            this.ejectedUntilNanos = System.nanoTime();
+
+            Tags tags = Tags.of("endpoint", this.url);
+            Gauge.builder("ai.engine.endpoint.inflight", inFlight, AtomicInteger::get)
+                    .description("엔드포인트별 진행 중인 호출 수")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("ai.engine.endpoint.latency.ewma", ewmaNanos, v -> v.get() / 1_000_000.0)
+                    .description("엔드포인트별 응답 지연 EWMA (ms)")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("ai.engine.endpoint.available", this, e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("엔드포인트 가용 여부 (헬스체크 통과 + 제외 기간 아님)")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.ejectedCounter = Counter.builder("ai.engine.endpoint.ejected")
+                    .description("연속 실패로 제외된 횟수")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        public String url() {
+            return url;
+        }
+
+        public URI resolve(String path) {
+            return URI.create(url + path);
+        }
+
+        boolean isAvailable(long now) {
+            return healthy && now - ejectedUntilNanos >= 0;
+        }
+
+        public boolean available() {
+            return isAvailable(System.nanoTime());
+        }
+
+        public boolean ejected() {
+            return System.nanoTime() - ejectedUntilNanos < 0;
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public HealthResponse lastHealth() {
+            return lastHealth;
+        }
+
+        public String lastError() {
+            return lastError;
+        }
+
+        /**
+         * 마지막 헬스체크 소요 시간 (ms, 아직 없으면 null)
+         */
+        public Long probeLatencyMillis() {
+            long nanos = probeLatencyNanos;
+            return nanos < 0 ? null : nanos / 1_000_000;
+        }
+
+        void probed(HealthResponse health, Throwable error, long latencyNanos) {
+            this.lastHealth = health;
+            this.lastError = error == null ? null : error.getMessage();
+            this.probeLatencyNanos = latencyNanos;
+
+            boolean healthy = health != null && health.isHealthy();
+            if (this.healthy != healthy) {
+                log.warn("AI Engine 엔드포인트 상태 변경 - endpoint: {}, healthy: {}", url, healthy);
+            }
+            this.healthy = healthy;
+        }
+
+        /**
+         * 선택 비용 (in-flight + 1) × EWMA 지연, 표본 없으면 in-flight만 반영
+         */
+        double load() {
+            long ewma = ewmaNanos.get();
+            return (inFlight.get() + 1) * (double) (ewma == 0 ? 1 : ewma);
+        }
+
+        long start() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void finish() {
+            inFlight.decrementAndGet();
+        }
+
+        void recordLatency(long nanos) {
+            ewmaNanos.getAndUpdate(prev -> prev == 0 ? nanos : prev + (nanos - prev) / 5);
+        }
+
+        void succeeded(long latencyNanos) {
+            finish();
+            if (latencyNanos >= 0) {
+                recordLatency(latencyNanos);
+            }
+            consecutiveFailures.set(0);
+            ejections.set(0);
+        }
+
+        /**
+         * 연속 실패가 임계값에 닿으면 제외 (제외 시간은 반복될수록 base-time 배수로 증가, max-time 상한)
+         */
+        void failed(Throwable error) {
+            finish();
+            if (!isFailure(error)) {
+                return;
+            }
+            if (consecutiveFailures.incrementAndGet() >= ejectionThreshold) {
+                consecutiveFailures.set(0);
+                long ejectNanos = Math.min(maxEjection.toNanos(), baseEjection.toNanos() * ejections.incrementAndGet());
+                ejectedUntilNanos = System.nanoTime() + ejectNanos;
+                ejectedCounter.increment();
+                log.warn("AI Engine 엔드포인트 제외 - endpoint: {}, duration: {}s, error: {}",
+                        url, ejectNanos / 1_000_000_000, error.getMessage());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.dto.response.HealthResponse;
+import com.labg.aigateway.dto.response.HealthSnapshot;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : HealthAggregator
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 의존성(AI Engine, MongoDB, Redis) 헬스 상태를 주기적으로 수집해 메모리에 스냅샷으로 유지
+ *                  /api/health는 요청마다 업스트림을 호출하지 않고 마지막 스냅샷만 반환
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class HealthAggregator {
+
+    private static final String CIRCUIT_BREAKER_NAME = "aiEngine";
+
+    private final EnginePool enginePool;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Value("${health.probe-timeout:2s}")
+    private Duration probeTimeout;
+
+    // 이 시간 동안 스냅샷이 갱신되지 않으면 (수집 작업 정지) DOWN으로 응답
+    @Value("${health.stale-after:30s}")
+    private Duration staleAfter;
+
+    private volatile HealthSnapshot snapshot = HealthSnapshot.starting();
+
+    public HealthAggregator(EnginePool enginePool,
+                            ReactiveMongoTemplate mongoTemplate,
+                            ReactiveRedisTemplate<String, Object> redisTemplate,
+                            CircuitBreakerRegistry circuitBreakerRegistry,
+                            MeterRegistry meterRegistry) {
+        this.enginePool = enginePool;
+        this.mongoTemplate = mongoTemplate;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        Gauge.builder("gateway.health.snapshot.age", this, HealthAggregator::snapshotAgeSeconds)
+                .description("마지막 헬스 스냅샷 이후 경과 시간 (초)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 마지막 스냅샷 조회 (I/O 없음)
+     * 수집이 staleAfter 이상 멈춰 있으면 DOWN으로 표시
+     */
+    public HealthSnapshot snapshot() {
+        HealthSnapshot current = snapshot;
+        Instant now = Instant.now();
+        if (current.checkedAt() != null && current.checkedAt().plus(staleAfter).isBefore(now)) {
+            current = new HealthSnapshot(HealthSnapshot.DOWN, current.checkedAt(), 0,
+                    current.aiEngine(), current.mongo(), current.redis());
+        }
+        return current.withAge(now);
+    }
+
+    /**
+     * 의존성 헬스 수집 (고정 주기)
+     * - MongoDB ping, Redis PING은 병렬로 실행하고 각각 probeTimeout으로 제한
+     * - AI Engine은 EnginePool이 엔드포인트별로 수집한 마지막 결과와 서킷 브레이커 상태를 사용 (중복 호출 없음)
+     */
+    @Scheduled(fixedDelayString = "${health.poll-interval:10s}")
+    public Mono<Void> poll() {
+        return Mono.zip(probeMongo(), probeRedis())
+                .doOnNext(probes -> {
+                    HealthSnapshot.Engine engine = engineHealth();
+                    HealthSnapshot next = new HealthSnapshot(
+                            overallStatus(engine, probes.getT1(), probes.getT2()),
+                            Instant.now(), 0, engine, probes.getT1(), probes.getT2());
+
+                    if (!next.status().equals(snapshot.status())) {
+                        log.warn("Gateway 헬스 상태 변경 - {} -> {}", snapshot.status(), next.status());
+                    }
+                    snapshot = next;
+                })
+                .doOnError(error -> log.error("헬스 스냅샷 수집 실패", error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private Mono<HealthSnapshot.Dependency> probeMongo() {
+        return probe(mongoTemplate.executeCommand(new Document("ping", 1)));
+    }
+
+    private Mono<HealthSnapshot.Dependency> probeRedis() {
+        return probe(redisTemplate.execute(connection -> connection.ping()).next());
+    }
+
+    /**
+     * 단일 ping 실행 및 소요 시간 측정
+     */
+    private Mono<HealthSnapshot.Dependency> probe(Mono<?> ping) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return ping
+                    .timeout(probeTimeout)
+                    .then(Mono.fromSupplier(() -> new HealthSnapshot.Dependency(
+                            HealthSnapshot.UP, elapsedMillis(startNanos), null)))
+                    .onErrorResume(error -> Mono.just(new HealthSnapshot.Dependency(
+                            HealthSnapshot.DOWN, elapsedMillis(startNanos), errorMessage(error))));
+        });
+    }
+
+    /**
+     * AI Engine 상태
+     * - 라우팅 가능한 엔드포인트가 없거나 서킷이 OPEN이면 DOWN
+     * - 일부 엔드포인트만 가능하거나 서킷이 HALF_OPEN이면 DEGRADED
+     */
+    private HealthSnapshot.Engine engineHealth() {
+        List<HealthSnapshot.EngineEndpoint> endpoints = enginePool.endpoints().stream()
+                .map(this::endpointHealth)
+                .toList();
+        CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME).getState();
+
+        long available = endpoints.stream().filter(HealthSnapshot.EngineEndpoint::available).count();
+        String status;
+        if (available == 0 || state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) {
+            status = HealthSnapshot.DOWN;
+        } else if (available < endpoints.size() || state == CircuitBreaker.State.HALF_OPEN) {
+            status = HealthSnapshot.DEGRADED;
+        } else {
+            status = HealthSnapshot.UP;
+        }
+        return new HealthSnapshot.Engine(status, state.name(), endpoints);
+    }
+
+    private HealthSnapshot.EngineEndpoint endpointHealth(EnginePool.Endpoint endpoint) {
+        HealthResponse health = endpoint.lastHealth();
+        return new HealthSnapshot.EngineEndpoint(
+                endpoint.url(),
+                health != null ? health.getStatus() : (endpoint.lastError() != null ? "unreachable" : null),
+                endpoint.available(),
+                endpoint.ejected(),
+                endpoint.inFlight(),
+                endpoint.probeLatencyMillis(),
+                health != null ? health.getVersion() : null,
+                endpoint.lastError()
+        );
+    }
+
+    /**
+     * 전체 상태
+     * - AI Engine 또는 MongoDB가 DOWN이면 요청을 처리할 수 없으므로 DOWN
+     * - Redis는 캐시 용도라 DOWN이어도 DEGRADED
+     */
+    private String overallStatus(HealthSnapshot.Engine engine,
+                                 HealthSnapshot.Dependency mongo,
+                                 HealthSnapshot.Dependency redis) {
+        if (HealthSnapshot.DOWN.equals(engine.status()) || HealthSnapshot.DOWN.equals(mongo.status())) {
+            return HealthSnapshot.DOWN;
+        }
+        if (HealthSnapshot.DEGRADED.equals(engine.status()) || HealthSnapshot.DOWN.equals(redis.status())) {
+            return HealthSnapshot.DEGRADED;
+        }
+        return HealthSnapshot.UP;
+    }
+
+    private double snapshotAgeSeconds() {
+        Instant checkedAt = snapshot.checkedAt();
+        return checkedAt == null ? 0 : Duration.between(checkedAt, Instant.now()).toMillis() / 1000.0;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static String errorMessage(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+}
@@ -1,18 +1,30 @@
 package com.labg.aigateway.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.labg.aigateway.dto.JwtPrincipal;
 import com.labg.aigateway.util.JwtSecret;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * packageName    : com.labg.aigateway.service
@@ -32,13 +44,43 @@ import java.util.Map;
 public class JwtService {
     private final JwtSecret jwtSecret;
     private SecretKey secretKey;
+    private JwtParser parser;
+
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    // 토큰 SHA-256 digest → 검증 완료된 사용자 정보 (토큰 exp 시각에 만료)
+    private Cache<String, JwtPrincipal> verifiedTokens;
 
     /**
      * Bean 생성 후 초기화
+     * 파서는 thread-safe 하므로 한 번만 생성해 재사용
      */
     @PostConstruct
     private void init() {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getSecretKey().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
         log.info("JWT SecretKey 초기화 완료");
     }
 
@@ -67,6 +109,37 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * JWT 토큰 검증 + 사용자 정보 추출 (한 번의 파싱)
+     * 이미 검증된 토큰은 digest 캐시에서 바로 반환하여 서명 검증을 생략
+     *
+     * @return 유효하면 사용자 정보, 아니면 empty
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String digest = sha256Hex(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return Optional.empty();
+        }
+
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.get("userId", String.class),
+                claims.getSubject(),
+                claims.getExpiration() == null ? Instant.now() : claims.getExpiration().toInstant()
+        );
+        verifiedTokens.put(digest, principal);
+        return Optional.of(principal);
+    }
+
     /**
      * JWT 토큰에서 사용자 ID 추출
      */
@@ -87,12 +160,15 @@ public class JwtService {
      * @return 유효하면 true
      */
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    /**
+     * 서명 검증 및 클레임 파싱 (실패 시 null)
+     */
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("JWT 토큰 만료: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -100,25 +176,32 @@ public class JwtService {
         } catch (MalformedJwtException e) {
             log.warn("잘못된 JWT: {}", e.getMessage());
         } catch (SecurityException e) {
+            // io.jsonwebtoken.security.SecurityException (SignatureException 포함) - java.lang.SecurityException 아님
             log.warn("JWT 서명 검증 실패: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.warn("JWT 클레임이 비어있음: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
 
     /**
      * 토큰에서 특정 클레임 추출
      */
     private <T> T extractClaim(String token, ClaimsResolver<T> claimsResolver) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
         return claimsResolver.resolve(claims);
     }
 
+    private String sha256Hex(String input) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // 불가능하지만, 예외 시 원본 토큰을 키로 사용
+            return input;
+        }
+    }
+
     @FunctionalInterface
     private interface ClaimsResolver<T> {
         T resolve(Claims claims);
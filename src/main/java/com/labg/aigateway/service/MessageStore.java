@@ -0,0 +1,56 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.entity.Message;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : MessageStore
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 세션 메시지 저장소 (세션 문서와 분리된 버킷 단위 저장)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+public interface MessageStore {
+
+    /**
+     * 메시지 추가
+     *
+     * @param sessionId 세션 ID
+     * @param firstSeq  첫 메시지의 세션 내 순번 (세션 messageCount 증가로 예약한 범위의 시작)
+     * @param messages  추가할 메시지 (순서대로 firstSeq, firstSeq + 1, ...)
+     */
+    Mono<Void> append(String sessionId, long firstSeq, List<Message> messages);
+
+    /**
+     * 최근 메시지 조회 (최신 버킷부터 필요한 만큼만 읽음)
+     */
+    Mono<List<Message>> findRecent(String sessionId, int limit);
+
+    /**
+     * seq 범위 메시지 조회 [fromSeq, toSeq) (요약 대상 구간 조회용, 오래된 순)
+     */
+    Mono<List<Message>> findRange(String sessionId, long fromSeq, long toSeq);
+
+    /**
+     * 전체 히스토리 조회 (내보내기용, 오래된 순)
+     */
+    Flux<Message> findAll(String sessionId);
+
+    /**
+     * 세션 삭제 시 버킷 삭제
+     */
+    Mono<Long> deleteBySessionIds(List<String> sessionIds);
+
+    /**
+     * 세션이 이미 삭제된(TTL 만료 등) 오래된 버킷 정리
+     */
+    Mono<Long> deleteOrphans(LocalDateTime notUpdatedSince);
+}
@@ -0,0 +1,26 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : QueryCoalescer
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 동일한 in-flight AI 질의 병합 (single-flight)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+public interface QueryCoalescer {
+
+    /**
+     * 같은 (sessionId, message)에 대해 진행 중인 호출이 있으면 그 결과를 공유하고,
+     * 없으면 engineCall을 실행해 결과를 다른 대기자와 공유
+     */
+    Mono<AiResponse> coalesce(String sessionId, String message, Supplier<Mono<AiResponse>> engineCall);
+}
@@ -0,0 +1,51 @@
+package com.labg.aigateway.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : RateLimiter
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 사용자별 토큰 버킷 요청 제한
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+public interface RateLimiter {
+
+    /**
+     * 버킷에서 토큰 1개 소비 시도
+     *
+     * @param key  버킷 식별자 (정책 + 사용자)
+     * @param rule 버킷 용량 및 충전 속도
+     * @return 허용 여부와 재시도 가능 시점
+     */
+    Mono<Decision> tryAcquire(String key, Rule rule);
+
+    /**
+     * 토큰 버킷 정책
+     *
+     * @param name            정책 이름 (chat, upload)
+     * @param capacity        버킷 최대 토큰 수 (순간 허용량)
+     * @param refillPerSecond 초당 충전 토큰 수
+     */
+    record Rule(String name, long capacity, double refillPerSecond) {
+    }
+
+    /**
+     * @param allowed          허용 여부
+     * @param retryAfterMillis 거절 시 다음 토큰까지 남은 시간 (ms)
+     */
+    record Decision(boolean allowed, long retryAfterMillis) {
+
+        public static Decision allow() {
+            return new Decision(true, 0);
+        }
+
+        public static Decision reject(long retryAfterMillis) {
+            return new Decision(false, retryAfterMillis);
+        }
+    }
+}
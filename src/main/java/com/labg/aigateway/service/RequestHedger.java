@@ -0,0 +1,194 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.util.CancelReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : RequestHedger
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : AI Engine 요청 hedging (p95 지연 후 동일 요청 한 번 더, 먼저 온 응답 사용)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class RequestHedger {
+
+    private static final int SAMPLE_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long TOKEN_SCALE = 1000;
+
+    private final boolean enabled;
+    private final Set<String> operations;
+    private final Duration minDelay;
+    private final long depositPerRequest;  // 요청 1건당 적립 (TOKEN_SCALE 단위)
+    private final long maxTokens;
+
+    // hedge 예산 (TOKEN_SCALE = hedge 1회)
+    private final AtomicLong tokens = new AtomicLong();
+
+    private final Map<String, Operation> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestHedger(MeterRegistry meterRegistry,
+                         @Value("${ai-engine.hedging.enabled:false}") boolean enabled,
+                         @Value("${ai-engine.hedging.operations:intent,embed}") List<String> operations,
+                         @Value("${ai-engine.hedging.budget-percent:5}") double budgetPercent,
+                         @Value("${ai-engine.hedging.max-burst:10}") int maxBurst,
+                         @Value("${ai-engine.hedging.min-delay:50ms}") Duration minDelay) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.operations = Set.copyOf(operations);
+        this.minDelay = minDelay;
+        this.depositPerRequest = Math.round(TOKEN_SCALE * budgetPercent / 100);
+        this.maxTokens = maxBurst * TOKEN_SCALE;
+
+        Gauge.builder("ai.engine.hedge.budget", tokens, t -> (double) t.get() / TOKEN_SCALE)
+                .description("남은 hedge 예산 (요청 수)")
+                .register(meterRegistry);
+        log.info("요청 hedging - enabled: {}, operations: {}, budget: {}%", enabled, this.operations, budgetPercent);
+    }
+
+    /**
+     * 응답이 p95 지연 안에 오지 않으면 같은 호출을 한 번 더 보내고 먼저 도착한 결과 사용 (나머지는 취소)
+     * - hedging 대상이 아니거나 지연 통계가 쌓이기 전에는 그대로 실행
+     * - hedge는 예산(전체 요청의 budget-percent%) 안에서만 전송
+     * - hedge 실패는 무시하고 원 요청 결과를 기다림
+     */
+    public <T> Mono<T> hedge(String operation, Supplier<Mono<T>> call) {
+        if (!enabled || !operations.contains(operation)) {
+            return call.get();
+        }
+
+        Operation op = stats.computeIfAbsent(operation, this::newOperation);
+        return Mono.deferContextual(context -> {
+            deposit();
+            long startNanos = System.nanoTime();
+            // 시도별 취소 원인 표시 (진 시도는 취소 전에 HEDGE로 기록 - 취소 집계/엔진 중단 요청 제외)
+            CancelReason primaryCancel = CancelReason.childOf(context);
+            CancelReason hedgedCancel = CancelReason.childOf(context);
+
+            Mono<T> primary = call.get()
+                    .doOnSuccess(value -> op.record(System.nanoTime() - startNanos))
+                    .contextWrite(primaryCancel::writeTo);
+
+            Duration delay = op.hedgeDelay();
+            if (delay == null) {
+                return primary;
+            }
+
+            Mono<T> hedged = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!tryWithdraw()) {
+                            op.denied.increment();
+                            return Mono.<T>never();
+                        }
+                        op.sent.increment();
+                        return call.get()
+                                .doOnSuccess(value -> {
+                                    op.won.increment();
+                                    op.record(System.nanoTime() - startNanos);
+                                })
+                                .contextWrite(hedgedCancel::writeTo)
+                                // hedge 실패는 원 요청 결과로 대체
+                                .onErrorResume(error -> Mono.never());
+                    });
+
+            // 먼저 신호를 보낸 쪽이 선택되고 나머지는 취소됨
+            return Mono.firstWithSignal(
+                    primary.doOnEach(signal -> hedgedCancel.mark(CancelReason.Reason.HEDGE)),
+                    hedged.doOnEach(signal -> primaryCancel.mark(CancelReason.Reason.HEDGE)));
+        });
+    }
+
+    private void deposit() {
+        tokens.getAndUpdate(current -> Math.min(maxTokens, current + depositPerRequest));
+    }
+
+    private boolean tryWithdraw() {
+        for (;;) {
+            long current = tokens.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private Operation newOperation(String operation) {
+        return new Operation(
+                hedgeCounter(operation, "sent"),
+                hedgeCounter(operation, "won"),
+                hedgeCounter(operation, "denied"));
+    }
+
+    private Counter hedgeCounter(String operation, String result) {
+        return Counter.builder("ai.engine.hedge")
+                .description("AI Engine hedge 요청 결과 (sent: 전송, won: hedge 응답 채택, denied: 예산 부족)")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업별 최근 응답 시간 표본 (ring buffer) + 주기적으로 계산한 p95
+     */
+    private final class Operation {
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private long recorded;
+        private volatile long p95Nanos = -1;
+
+        private final Counter sent;
+        private final Counter won;
+        private final Counter denied;
+
+        Operation(Counter sent, Counter won, Counter denied) {
+            this.sent = sent;
+            this.won = won;
+            this.denied = denied;
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (recorded % SAMPLE_SIZE)] = nanos;
+            recorded++;
+            if (recorded >= RECOMPUTE_EVERY && recorded % RECOMPUTE_EVERY == 0) {
+                int size = (int) Math.min(recorded, SAMPLE_SIZE);
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                p95Nanos = sorted[(int) Math.ceil(size * 0.95) - 1];
+            }
+        }
+
+        /**
+         * 표본이 부족하면 null (hedge 하지 않음)
+         */
+        Duration hedgeDelay() {
+            long p95 = p95Nanos;
+            if (p95 < 0) {
+                return null;
+            }
+            return p95 > minDelay.toNanos() ? Duration.ofNanos(p95) : minDelay;
+        }
+    }
+}
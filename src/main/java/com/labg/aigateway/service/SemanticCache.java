@@ -0,0 +1,237 @@
+package com.labg.aigateway.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.labg.aigateway.dto.response.AiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : SemanticCache
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 임베딩 코사인 유사도 기반 응답 캐시 (표현만 다른 질문 재사용, 선택 기능)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class SemanticCache {
+
+    private static final String GLOBAL_SCOPE = "global";
+
+    private final AiEngineClient aiEngineClient;
+    private final boolean enabled;
+    private final boolean perSession;
+    private final double threshold;
+    private final long ttlNanos;
+    private final int maxEntriesPerScope;
+    private final Duration embedTimeout;
+
+    // 범위(세션 ID 또는 global) → 최근 질문 임베딩 인덱스
+    private final Cache<String, Index> indexes;
+    // 조회 시 계산한 임베딩을 저장 시 재사용 (임베딩 호출 1회로 제한)
+    private final Cache<String, float[]> recentEmbeddings;
+
+    private final Timer lookupTimer;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SemanticCache(AiEngineClient aiEngineClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${cache.semantic.enabled:false}") boolean enabled,
+                         @Value("${cache.semantic.scope:session}") String scope,
+                         @Value("${cache.semantic.threshold:0.92}") double threshold,
+                         @Value("${cache.semantic.ttl:5m}") Duration ttl,
+                         @Value("${cache.semantic.max-entries:500}") int maxEntriesPerScope,
+                         @Value("${cache.semantic.max-scopes:10000}") long maxScopes,
+                         @Value("${cache.semantic.embed-timeout:500ms}") Duration embedTimeout) {
+        this.aiEngineClient = aiEngineClient;
+        this.enabled = enabled;
+        this.perSession = !GLOBAL_SCOPE.equalsIgnoreCase(scope);
+        this.threshold = threshold;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntriesPerScope = maxEntriesPerScope;
+        this.embedTimeout = embedTimeout;
+
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxScopes)
+                .expireAfterAccess(ttl)
+                .build();
+        this.recentEmbeddings = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(2))
+                .build();
+
+        this.lookupTimer = Timer.builder("cache.semantic.lookup")
+                .description("시맨틱 캐시 조회 시간 (임베딩 + 유사도 검색)")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("cache.tier.requests")
+                .description("캐시 계층별 조회 결과")
+                .tag("cache", "query")
+                .tag("tier", "semantic")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("cache.tier.requests")
+                .description("캐시 계층별 조회 결과")
+                .tag("cache", "query")
+                .tag("tier", "semantic")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        if (enabled) {
+            log.info("시맨틱 캐시 활성화 - scope: {}, threshold: {}, ttl: {}", perSession ? "session" : GLOBAL_SCOPE, threshold, ttl);
+        }
+    }
+
+    /**
+     * 유사한 이전 질문의 응답 조회
+     * 임베딩 실패/지연 시에는 MISS로 처리 (엔진 호출 경로를 막지 않음)
+     * HIT 응답은 요청 세션 ID로 바꾼 사본 (global 범위에서 다른 세션의 ID가 클라이언트로 가지 않도록)
+     */
+    public Mono<AiResponse> lookup(String sessionId, String message) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            String scope = scopeOf(sessionId);
+
+            return embed(message)
+                    .mapNotNull(vector -> {
+                        recentEmbeddings.put(embeddingKey(scope, message), vector);
+                        Index index = indexes.getIfPresent(scope);
+                        return index == null ? null : index.search(vector, threshold, System.nanoTime(), ttlNanos);
+                    })
+                    .map(cached -> forSession(cached, sessionId))
+                    .doOnNext(response -> {
+                        hitCounter.increment();
+                        log.debug("Semantic Cache HIT - scope: {}", scope);
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(missCounter::increment))
+                    .doFinally(signal -> lookupTimer.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+    }
+
+    /**
+     * 엔진 응답을 질문 임베딩과 함께 저장 (성공 응답만)
+     */
+    public Mono<Void> store(String sessionId, String message, AiResponse response) {
+        if (!enabled || response == null || !response.isSuccess()) {
+            return Mono.empty();
+        }
+
+        String scope = scopeOf(sessionId);
+        float[] known = recentEmbeddings.getIfPresent(embeddingKey(scope, message));
+        return (known != null ? Mono.just(known) : embed(message))
+                .doOnNext(vector -> indexes.get(scope, k -> new Index(maxEntriesPerScope))
+                        .add(vector, response, System.nanoTime()))
+                .then();
+    }
+
+    private Mono<float[]> embed(String message) {
+        return aiEngineClient.generateEmbeddings(new String[]{message.trim()})
+                .timeout(embedTimeout, Mono.empty())
+                .filter(embeddings -> embeddings.length > 0 && embeddings[0].length > 0)
+                .map(embeddings -> normalize(embeddings[0]))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private static AiResponse forSession(AiResponse cached, String sessionId) {
+        return AiResponse.builder()
+                .success(cached.isSuccess())
+                .message(cached.getMessage())
+                .sessionId(sessionId)
+                .processingTime(cached.getProcessingTime())
+                .modeUsed(cached.getModeUsed())
+                .metadata(cached.getMetadata())
+                .build();
+    }
+
+    private String scopeOf(String sessionId) {
+        return perSession ? sessionId : GLOBAL_SCOPE;
+    }
+
+    private static String embeddingKey(String scope, String message) {
+        return scope + '\u0000' + message.trim();
+    }
+
+    /**
+     * 단위 벡터로 정규화 (코사인 유사도 = 내적)
+     */
+    private static float[] normalize(double[] embedding) {
+        double norm = 0;
+        for (double v : embedding) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] vector = new float[embedding.length];
+        if (norm == 0) {
+            return vector;
+        }
+        for (int i = 0; i < embedding.length; i++) {
+            vector[i] = (float) (embedding[i] / norm);
+        }
+        return vector;
+    }
+
+    /**
+     * 범위별 고정 크기 링 버퍼 (가장 오래된 항목부터 덮어씀)
+     */
+    private static final class Index {
+        private final float[][] vectors;
+        private final AiResponse[] responses;
+        private final long[] storedAt;
+        private int next;
+        private int size;
+
+        private Index(int capacity) {
+            this.vectors = new float[capacity][];
+            this.responses = new AiResponse[capacity];
+            this.storedAt = new long[capacity];
+        }
+
+        private synchronized void add(float[] vector, AiResponse response, long now) {
+            vectors[next] = vector;
+            responses[next] = response;
+            storedAt[next] = now;
+            next = (next + 1) % vectors.length;
+            size = Math.min(size + 1, vectors.length);
+        }
+
+        /**
+         * 만료되지 않은 항목 중 유사도가 threshold 이상인 최고 점수 응답
+         */
+        private synchronized AiResponse search(float[] query, double threshold, long now, long ttlNanos) {
+            AiResponse best = null;
+            double bestScore = threshold;
+            for (int i = 0; i < size; i++) {
+                float[] candidate = vectors[i];
+                if (now - storedAt[i] > ttlNanos || candidate.length != query.length) {
+                    continue;
+                }
+                double score = 0;
+                for (int d = 0; d < query.length; d++) {
+                    score += query[d] * candidate[d];
+                }
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = responses[i];
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.labg.aigateway.service;
 
 import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.entity.Message;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -19,5 +20,6 @@ public interface SessionService {
     Mono<ChatSession> getOrCreateSession(String sessionId, String userId);
     Mono<ChatSession> addMessage(String sessionId, Message message);
     Mono<ChatSession> addMessagePair(String sessionId, Message userMessage, Message assistantMessage);
+    Flux<Message> getHistory(String sessionId, String userId);
 
 }
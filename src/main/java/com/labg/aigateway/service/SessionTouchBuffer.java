@@ -0,0 +1,123 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.entity.ChatSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : SessionTouchBuffer
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 세션 lastAccessedAt 갱신을 모아서 주기적으로 일괄 반영 (write-behind)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Slf4j
+@Service
+public class SessionTouchBuffer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    // sessionId → 가장 최근 접근 시각 (세션당 1건만 유지)
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter touchCounter;
+    private final Counter writeCounter;
+
+    public SessionTouchBuffer(ReactiveMongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.touchCounter = Counter.builder("session.touch.requests")
+                .description("lastAccessedAt 갱신 요청 수")
+                .register(meterRegistry);
+        this.writeCounter = Counter.builder("session.touch.writes")
+                .description("MongoDB에 반영된 lastAccessedAt 갱신 수")
+                .register(meterRegistry);
+        Gauge.builder("session.touch.pending", pending, Map::size)
+                .description("반영 대기 중인 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 접근 시각 기록 (메모리만 갱신, DB 쓰기 없음)
+     */
+    public void touch(String sessionId, LocalDateTime accessedAt) {
+        pending.merge(sessionId, accessedAt, SessionTouchBuffer::latest);
+        touchCounter.increment();
+    }
+
+    /**
+     * 대기 중인 갱신을 unordered bulkWrite로 반영
+     * - $max로 설정하므로 다른 경로에서 더 최신 값을 쓴 경우 되돌리지 않음
+     * - 반영 도중 들어온 새 touch는 다음 주기에 반영됨
+     */
+    @Scheduled(fixedDelayString = "${session.touch.flush-interval:10s}")
+    public Mono<Void> flush() {
+        if (pending.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<Map.Entry<String, LocalDateTime>> drained = new ArrayList<>();
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            // 값이 그대로일 때만 제거 (그 사이 갱신된 세션은 남겨둠)
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        return Flux.fromIterable(drained)
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> {
+                    var bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatSession.class);
+                    batch.forEach(entry -> bulkOps.updateOne(
+                            Query.query(Criteria.where("sessionId").is(entry.getKey())),
+                            new Update().max("lastAccessedAt", entry.getValue())));
+                    return bulkOps.execute()
+                            .doOnSuccess(result -> writeCounter.increment(batch.size()))
+                            .doOnError(error -> {
+                                log.warn("lastAccessedAt 일괄 반영 실패 - 재시도 대기. count: {}, error: {}",
+                                        batch.size(), error.getMessage());
+                                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), SessionTouchBuffer::latest));
+                            })
+                            .onErrorResume(error -> Mono.empty());
+                })
+                .then()
+                .doOnSuccess(v -> log.debug("lastAccessedAt 일괄 반영 완료 - count: {}", drained.size()));
+    }
+
+    private static LocalDateTime latest(LocalDateTime prev, LocalDateTime next) {
+        return next.isAfter(prev) ? next : prev;
+    }
+
+    /**
+     * 종료 시 남은 갱신 반영
+     */
+    @PreDestroy
+    void flushOnShutdown() {
+        log.info("종료 전 lastAccessedAt 반영 - pending: {}", pending.size());
+        flush().block(Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,20 @@
+package com.labg.aigateway.service;
+
+/**
+ * packageName    : com.labg.aigateway.service
+ * fileName       : TokenCounter
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 메시지 토큰 수 계산 (메시지 저장 시 한 번만 계산해 Message.tokenCount에 보관)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+public interface TokenCounter {
+
+    /**
+     * 텍스트 토큰 수 (메시지 단위 오버헤드 제외)
+     */
+    int count(String text);
+}
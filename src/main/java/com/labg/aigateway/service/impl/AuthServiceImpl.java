@@ -43,8 +43,12 @@ public class AuthServiceImpl implements AuthService {
                         return Mono.error(new IllegalArgumentException("이미 존재하는 사용자명입니다"));
                     }
 
-                    users.setPassword(passwordEncoder.encode(users.getPassword()));
-                    return usersRepository.save(users);
+                    // BCrypt 해싱은 전용 스케줄러에서 수행
+                    return passwordEncoder.encode(users.getPassword())
+                            .flatMap(encoded -> {
+                                users.setPassword(encoded);
+                                return usersRepository.save(users);
+                            });
                 })
                 .map(user -> {
                     String token = jwtService.generateToken(user.getId(), user.getUsername());
@@ -60,15 +64,16 @@ public class AuthServiceImpl implements AuthService {
     public Mono<LoginResponse> login(Users users) {
         return usersRepository.findByUsername(users.getUsername())
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("사용자를 찾을 수 없습니다")))
-                .flatMap(user -> {
-                    if (!passwordEncoder.matches(users.getPassword(), user.getPassword())) {
-                        return Mono.error(new IllegalArgumentException("비밀번호가 일치하지 않습니다"));
-                    }
+                .flatMap(user -> passwordEncoder.matches(users.getPassword(), user.getPassword())
+                        .flatMap(matched -> {
+                            if (!matched) {
+                                return Mono.error(new IllegalArgumentException("비밀번호가 일치하지 않습니다"));
+                            }
 
-                    // 마지막 로그인 시간 업데이트
-                    user.setLastLoginAt(LocalDateTime.now());
-                    return usersRepository.save(user);
-                })
+                            // 마지막 로그인 시간 업데이트
+                            user.setLastLoginAt(LocalDateTime.now());
+                            return usersRepository.save(user);
+                        }))
                 .map(user -> {
                     String token = jwtService.generateToken(user.getId(), user.getUsername());
                     log.info("로그인 성공 - username: {}", user.getUsername());
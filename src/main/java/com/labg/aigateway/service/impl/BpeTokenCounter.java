@@ -0,0 +1,191 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.service.TokenCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : BpeTokenCounter
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 로컬 BPE 어휘 파일 기반 토큰 수 계산
+ *                  UTF-8 바이트 trie에서 가장 긴 어휘 토큰을 순서대로 매칭 (병합 순서 대신 최장 일치로 근사)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "context.tokenizer.mode", havingValue = "bpe")
+public class BpeTokenCounter implements TokenCounter {
+
+    private final ByteTrie trie;
+
+    /**
+     * @param vocabPath tiktoken 형식 어휘 파일 (한 줄에 "base64(토큰 바이트) 순위")
+     */
+    public BpeTokenCounter(@Value("${context.tokenizer.vocab-path}") String vocabPath) {
+        this.trie = load(Path.of(vocabPath));
+    }
+
+    @Override
+    public int count(String text) {
+        if (text == null || text.isEmpty()) return 0;
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int tokens = 0;
+        int pos = 0;
+        while (pos < bytes.length) {
+            int end = trie.longestMatch(bytes, pos);
+            // 어휘에 없는 바이트는 1바이트 = 1토큰 (byte-level BPE의 기본 토큰)
+            pos = end > pos ? end : pos + 1;
+            tokens++;
+        }
+        return tokens;
+    }
+
+    private static ByteTrie load(Path path) {
+        ByteTrie trie = new ByteTrie(1 << 20);
+        Base64.Decoder decoder = Base64.getDecoder();
+        int loaded = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                String encoded = space < 0 ? line : line.substring(0, space);
+                if (encoded.isEmpty()) continue;
+                trie.insert(decoder.decode(encoded));
+                loaded++;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("토크나이저 어휘 파일을 읽을 수 없습니다: " + path, e);
+        }
+
+        log.info("BPE 어휘 로드 완료 - path: {}, tokens: {}, trie nodes: {}", path, loaded, trie.size());
+        return trie;
+    }
+
+    /**
+     * 바이트 단위 trie (객체 노드 없이 primitive 배열만 사용)
+     * - 간선: (부모 노드, 바이트) → 자식 노드, open addressing 해시 테이블
+     * - terminal: 어휘 토큰이 끝나는 노드 표시
+     */
+    static final class ByteTrie {
+
+        private static final long EMPTY = -1L;
+
+        private long[] edgeKeys;
+        private int[] edgeChildren;
+        private int edgeCount;
+
+        private boolean[] terminal;
+        private int nodeCount = 1; // 0 = root
+
+        ByteTrie(int initialEdges) {
+            int capacity = Integer.highestOneBit(Math.max(16, initialEdges) - 1) << 1;
+            this.edgeKeys = new long[capacity];
+            this.edgeChildren = new int[capacity];
+            Arrays.fill(edgeKeys, EMPTY);
+            this.terminal = new boolean[capacity / 2];
+        }
+
+        void insert(byte[] token) {
+            int node = 0;
+            for (byte b : token) {
+                int child = child(node, b);
+                if (child < 0) {
+                    child = nodeCount++;
+                    putEdge(node, b, child);
+                }
+                node = child;
+            }
+            if (node >= terminal.length) {
+                terminal = Arrays.copyOf(terminal, Math.max(node + 1, terminal.length * 2));
+            }
+            terminal[node] = true;
+        }
+
+        /**
+         * from 위치부터 가장 긴 어휘 토큰의 끝 위치 (없으면 from)
+         */
+        int longestMatch(byte[] bytes, int from) {
+            int node = 0;
+            int matchEnd = from;
+            for (int i = from; i < bytes.length; i++) {
+                node = child(node, bytes[i]);
+                if (node < 0) break;
+                if (node < terminal.length && terminal[node]) {
+                    matchEnd = i + 1;
+                }
+            }
+            return matchEnd;
+        }
+
+        int size() {
+            return nodeCount;
+        }
+
+        private int child(int node, byte b) {
+            long key = edgeKey(node, b);
+            int mask = edgeKeys.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                long k = edgeKeys[slot];
+                if (k == key) return edgeChildren[slot];
+                if (k == EMPTY) return -1;
+            }
+        }
+
+        private void putEdge(int node, byte b, int child) {
+            if ((edgeCount + 1) * 2 > edgeKeys.length) {
+                rehash(edgeKeys.length * 2);
+            }
+            insertEdge(edgeKey(node, b), child);
+            edgeCount++;
+        }
+
+        private void insertEdge(long key, int child) {
+            int mask = edgeKeys.length - 1;
+            int slot = mix(key) & mask;
+            while (edgeKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            edgeKeys[slot] = key;
+            edgeChildren[slot] = child;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = edgeKeys;
+            int[] oldChildren = edgeChildren;
+            edgeKeys = new long[capacity];
+            edgeChildren = new int[capacity];
+            Arrays.fill(edgeKeys, EMPTY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    insertEdge(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+
+        private static long edgeKey(int node, byte b) {
+            return ((long) node << 8) | (b & 0xFF);
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -2,21 +2,41 @@ package com.labg.aigateway.service.impl;
 
 import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.dto.response.CachedResponseBody;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.labg.aigateway.service.CacheService;
+import com.labg.aigateway.util.EarlyRefresh;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * packageName    : com.labg.aigateway.service
@@ -24,6 +44,7 @@ import java.util.Objects;
  * author         : 이가은
  * date           : 2025-10-28
  * description    : Redis 기반 캐싱 관리(ReactiveRedisTemplate)
+ *                  L1(in-process Caffeine) → L2(Redis) 2단계 조회, pub/sub으로 레플리카 간 L1 무효화
  * ===========================================================
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
@@ -34,11 +55,124 @@ import java.util.Objects;
 @Slf4j
 public class CacheServiceImpl implements CacheService {
     private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
     private static final Duration QUERY_CACHE_TTL = Duration.ofMinutes(5);
     private static final Duration SESSION_CACHE_TTL = Duration.ofMinutes(10);
+    private static final String INVALIDATION_CHANNEL = "cache:invalidate";
+    private static final String QUERY = "query";
+    private static final String SESSION = "session";
+    private static final String RESPONSE_BODY = "response-body";
+
+    /*
+     * 세션별 쿼리 인덱스의 키 + 인덱스 자신을 원자적으로 UNLINK 후 인덱스 멤버(직렬화 값 그대로) 반환
+     * - SMEMBERS와 UNLINK 사이에 등록된 키가 인덱스와 함께 지워져 무효화에서 누락되는 경쟁 방지
+     * - 멤버는 JSON 문자열로 직렬화되어 있으므로 cjson으로 키 이름 복원
+     * - unpack 인자 수 제한을 피하기 위해 1000개 단위로 UNLINK
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> UNLINK_INDEXED_SCRIPT = RedisScript.of("""
+            local members = redis.call('smembers', KEYS[1])
+            local keys = {}
+            for i, member in ipairs(members) do
+              keys[i] = cjson.decode(member)
+            end
+            for i = 1, #keys, 1000 do
+              redis.call('unlink', unpack(keys, i, math.min(i + 999, #keys)))
+            end
+            redis.call('unlink', KEYS[1])
+            return members
+            """, List.class);
+
+    @Value("${cache.max-size:1000}")
+    private long maxSize;
+
+    // soft TTL(QUERY_CACHE_TTL) 이후에도 보관하는 시간 (hard TTL = soft + grace)
+    @Value("${cache.query-stale-grace:1m}")
+    private Duration staleGrace;
+
+    // 확률적 조기 만료의 갱신 소요 시간 추정치 (클수록 만료 전에 일찍 갱신)
+    @Value("${cache.query-refresh-delta:5s}")
+    private Duration refreshDelta;
+
+    // 자신이 발행한 무효화 메시지는 무시하기 위한 인스턴스 식별자
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private Cache<String, Object> l1;
+    private Disposable invalidationSubscription;
+
+    // 메트릭 (조회마다 등록하지 않도록 미리 생성)
+    private final Map<String, TierCounters> tierCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> staleCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> refreshAheadCounters = new ConcurrentHashMap<>();
+
+    /**
+     * L1 캐시 생성 및 무효화 채널 구독
+     * - 크기: cache.max-size (W-TinyLFU 기반 eviction)
+     * - TTL: 키 prefix에 따라 쿼리 hard TTL(QUERY_CACHE_TTL + stale-grace) / SESSION_CACHE_TTL
+     */
+    @PostConstruct
+    void init() {
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Object>() {
+                    @Override
+                    public long expireAfterCreate(String key, Object value, long currentTime) {
+                        return ttlFor(key).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+                        return ttlFor(key).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "gateway.l1");
+
+        for (String cache : List.of(QUERY, SESSION, RESPONSE_BODY)) {
+            tierCounters.put(cache, new TierCounters(
+                    tierCounter(cache, "l1", "hit"), tierCounter(cache, "l1", "miss"),
+                    tierCounter(cache, "l2", "hit"), tierCounter(cache, "l2", "miss")));
+        }
+        for (String cache : List.of(QUERY, RESPONSE_BODY)) {
+            staleCounters.put(cache, Counter.builder("cache.stale.served")
+                    .description("soft TTL 경과 후 제공된 stale 응답 수")
+                    .tag("cache", cache)
+                    .register(meterRegistry));
+            refreshAheadCounters.put(cache, Counter.builder("cache.refresh.ahead")
+                    .description("확률적 조기 만료로 MISS 처리되어 갱신을 맡은 요청 수")
+                    .tag("cache", cache)
+                    .register(meterRegistry));
+        }
+
+        this.invalidationSubscription = redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+                .map(message -> String.valueOf(message.getMessage()))
+                .filter(payload -> !payload.startsWith(instanceId + "|"))
+                .map(payload -> payload.substring(payload.indexOf('|') + 1))
+                .doOnNext(key -> {
+                    l1.invalidate(key);
+                    log.debug("L1 Cache 원격 무효화: {}", key);
+                })
+                .doOnError(e -> log.warn("L1 Cache 무효화 채널 구독 실패: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
+    }
 
     /**
-     * 캐시된 응답 조회
+     * 캐시된 응답 조회 (만료 임박 항목은 확률적으로 MISS 처리)
      *
      * @param sessionId
      * @param message
@@ -46,20 +180,11 @@ public class CacheServiceImpl implements CacheService {
      */
     @Override
     public Mono<AiResponse> getCachedResponse(String sessionId, String message) {
-        final String key = generateCacheKey(sessionId, message);
-        return redisTemplate.opsForValue().get(key)
-                .cast(AiResponse.class)
-                .switchIfEmpty(Mono.defer(() -> {
-                    log.debug("Query Cache MISS: {}", key);
-                    return Mono.empty();
-                }))
-                .doOnNext(v -> log.debug("Query Cache HIT: {}", key))
-                .doOnError(e -> log.warn("Query Cache GET failed (skip): {} - {}", key, e.getMessage()))
-                .onErrorResume(e -> Mono.empty());
+        return getWithEarlyRefresh(QUERY, generateCacheKey(sessionId, message), AiResponse.class);
     }
 
     /**
-     * 응답 캐싱(TTL 5분)
+     * 응답 캐싱(soft TTL 5분 + stale-grace)
      *
      * @param sessionId
      * @param message
@@ -69,12 +194,94 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Mono<Boolean> cacheResponse(String sessionId, String message, AiResponse response) {
         final String key = generateCacheKey(sessionId, message);
-        return redisTemplate.opsForValue().set(key, response, QUERY_CACHE_TTL)
+        l1.put(key, toL1(response));
+        return redisTemplate.opsForValue().set(key, response, queryHardTtl())
+                .flatMap(success -> indexQueryKey(sessionId, key)
+                        .then(publishInvalidation(key))
+                        .thenReturn(success))
                 .doOnSuccess(success -> log.debug("Query Cache SET- key: {}, ttl: {}분", key, QUERY_CACHE_TTL.toMinutes()))
                 .doOnError(e -> log.warn("Query Cache SET failed (skip): {} - {}", key, e.getMessage()))
                 .onErrorReturn(false);
     }
 
+    /**
+     * 직렬화된 응답 본문 조회 (쿼리 캐시와 같은 TTL/무효화 범위, 확률적 조기 만료)
+     */
+    @Override
+    public Mono<CachedResponseBody> getCachedResponseBody(String sessionId, String message) {
+        return getWithEarlyRefresh(RESPONSE_BODY, responseBodyKey(sessionId, message), CachedResponseBody.class);
+    }
+
+    /**
+     * L1 → L2 조회 + 확률적 조기 만료
+     * - hard TTL(soft + stale-grace)까지 저장되며, 남은 TTL이 grace 이하이면 stale로 집계
+     * - L2 HIT 시 L1에는 Redis의 남은 TTL만큼만 보관 (L1이 L2보다 오래 살지 않도록)
+     * - L1 HIT도 조회마다 새 객체 반환 (toL1 참고)
+     */
+    private <T> Mono<T> getWithEarlyRefresh(String cache, String key, Class<T> type) {
+        return Mono.deferContextual(context -> {
+            T local = fromL1(key, type);
+            if (local != null) {
+                record(cache, "l1", true);
+                log.debug("{} Cache HIT(L1): {}", cache, key);
+                return refreshAhead(cache, key, l1Remaining(key), context) ? Mono.<T>empty() : Mono.just(local);
+            }
+            record(cache, "l1", false);
+
+            return Mono.zip(redisTemplate.opsForValue().get(key), redisTemplate.getExpire(key).defaultIfEmpty(Duration.ZERO))
+                    .filter(entry -> type.isInstance(entry.getT1()))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        record(cache, "l2", false);
+                        log.debug("{} Cache MISS: {}", cache, key);
+                        return Mono.empty();
+                    }))
+                    .flatMap(entry -> {
+                        T value = type.cast(entry.getT1());
+                        Duration remaining = entry.getT2();
+                        record(cache, "l2", true);
+                        putL1(key, value, remaining);
+                        log.debug("{} Cache HIT: {}", cache, key);
+                        return refreshAhead(cache, key, remaining, context) ? Mono.<T>empty() : Mono.just(value);
+                    })
+                    .doOnError(e -> log.warn("{} Cache GET failed (skip): {} - {}", cache, key, e.getMessage()))
+                    .onErrorResume(e -> Mono.empty());
+        });
+    }
+
+    /**
+     * 확률적 조기 만료 (XFetch, EarlyRefresh 참고)
+     * - 선택된 요청만 MISS로 처리되어 일반 MISS 경로(QueryCoalescer → AI Engine → 캐시 저장)에서 자신의 요청 맥락으로 갱신
+     *   (백그라운드 갱신과 달리 갱신 결과가 그 요청의 대화에 그대로 저장됨), 나머지 요청은 기존 값을 계속 받음
+     * - 같은 키를 동시에 갱신하는 요청은 QueryCoalescer가 하나의 엔진 호출로 병합
+     * - 본문 캐시는 쿼리 캐시 저장 이후에 저장되어 남은 TTL이 같거나 길므로, 같은 요청에서 본문이 MISS 처리되면 쿼리 캐시도 MISS 처리됨
+     */
+    private boolean refreshAhead(String cache, String key, Duration remaining, ContextView context) {
+        if (EarlyRefresh.shouldRefresh(context, remaining, refreshDelta)) {
+            refreshAheadCounter(cache).increment();
+            log.debug("{} Cache 조기 만료 - 이 요청이 갱신: {}, remaining: {}", cache, key, remaining);
+            return true;
+        }
+        if (remaining != null && !remaining.isNegative() && !remaining.isZero() && remaining.compareTo(staleGrace) <= 0) {
+            staleCounter(cache).increment();
+        }
+        return false;
+    }
+
+    /**
+     * 직렬화된 응답 본문 캐싱 (세션별 쿼리 인덱스에 함께 등록되어 쿼리 캐시와 같이 무효화됨)
+     */
+    @Override
+    public Mono<Boolean> cacheResponseBody(String sessionId, String message, CachedResponseBody body) {
+        final String key = responseBodyKey(sessionId, message);
+        l1.put(key, body);
+        return redisTemplate.opsForValue().set(key, body, queryHardTtl())
+                .flatMap(success -> indexQueryKey(sessionId, key)
+                        .then(publishInvalidation(key))
+                        .thenReturn(success))
+                .doOnError(e -> log.warn("Response Body Cache SET failed (skip): {} - {}", key, e.getMessage()))
+                .onErrorReturn(false);
+    }
+
     /**
      * 캐시된 세션 조회
      *
@@ -84,13 +291,26 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Mono<ChatSession> getCachedSession(String sessionId) {
         final String key = sessionKey(sessionId);
+        ChatSession local = fromL1(key, ChatSession.class);
+        if (local != null) {
+            record(SESSION, "l1", true);
+            log.debug("Session Cache HIT(L1): {}", key);
+            return Mono.just(local);
+        }
+        record(SESSION, "l1", false);
+
         return redisTemplate.opsForValue().get(key)
                 .cast(ChatSession.class)
                 .switchIfEmpty(Mono.defer(() -> {
+                    record(SESSION, "l2", false);
                     log.debug("Session Cache MISS: {}", key);
                     return Mono.empty();
                 }))
-                .doOnNext(v -> log.debug("Session Cache HIT: {}", key))
+                .doOnNext(v -> {
+                    record(SESSION, "l2", true);
+                    l1.put(key, toL1(v));
+                    log.debug("Session Cache HIT: {}", key);
+                })
                 .doOnError(e -> log.warn("Session Cache GET failed (skip): {} - {}", key, e.getMessage()))
                 .onErrorResume(e -> Mono.empty());
     }
@@ -105,7 +325,9 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Mono<Boolean> cacheSession(ChatSession session) {
         final String key = sessionKey(session.getSessionId());
+        l1.put(key, toL1(session));
         return redisTemplate.opsForValue().set(key, session, SESSION_CACHE_TTL) // 레디스에 저장
+                .flatMap(ok -> publishInvalidation(key).thenReturn(ok))
                 .doOnSuccess(ok -> log.debug("Session Cache SET: {} -> {}", key, ok))
                 .doOnError(e -> log.warn("Session Cache SET failed (skip): {} - {}", key, e.getMessage()))
                 .onErrorReturn(false);
@@ -118,22 +340,43 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public Mono<Boolean> invalidateCache(String sessionId) {
         String sessionKey = sessionKey(sessionId);
+        l1.invalidate(sessionKey);
 
         return redisTemplate.delete(sessionKey)
-                .map(count -> count > 0)
+                .flatMap(count -> publishInvalidation(sessionKey).thenReturn(count > 0))
                 .doOnSuccess(deleted -> log.debug("캐시 무효화 - sessionId: {}, deleted: {}", sessionId, deleted));
     }
 
+    /**
+     * 여러 세션의 세션 캐시 + 쿼리 인덱스를 한 번의 UNLINK로 삭제 (만료 세션 정리용)
+     * 장시간 미사용 세션이므로 다른 레플리카 L1에는 남아있지 않아 무효화 발행은 생략
+     */
+    @Override
+    public Mono<Long> invalidateSessions(List<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        List<String> keys = new ArrayList<>(sessionIds.size() * 2);
+        for (String sessionId : sessionIds) {
+            String sessionKey = sessionKey(sessionId);
+            l1.invalidate(sessionKey);
+            keys.add(sessionKey);
+            keys.add(queryIndexKey(sessionId));
+        }
+
+        return redisTemplate.unlink(keys.toArray(String[]::new))
+                .doOnSuccess(count -> log.debug("세션 캐시 일괄 무효화 - sessions: {}, unlinked: {}", sessionIds.size(), count))
+                .doOnError(e -> log.warn("세션 캐시 일괄 무효화 실패 (skip): {}", e.getMessage()));
+    }
+
     /**
      * 쿼리 캐시만 무효화 (세션에 새 메시지 추가 시)
+     * KEYS 스캔 대신 세션별 키 인덱스(Set)에 등록된 키만 UNLINK
      */
     @Override
     public Mono<Boolean> invalidateQueryCache(String sessionId) {
-        String pattern = "query:" + sessionId + ":*";
-
-        return redisTemplate.keys(pattern)
-                .flatMap(redisTemplate::delete)
-                .reduce(0L, Long::sum)
+        return unlinkIndexedQueries(sessionId)
                 .map(count -> count > 0)
                 .doOnSuccess(deleted ->
                         log.debug("쿼리 캐시 무효화 - sessionId: {}, count: {}", sessionId, deleted)
@@ -149,15 +392,51 @@ public class CacheServiceImpl implements CacheService {
      * @return
      */
     public Mono<Boolean> invalidateCacheNoUse(String sessionId) {
-        final String pattern = "query:" + sessionId + ":*";
-        Flux<String> keysToDelete = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).build());
-
-        return redisTemplate.delete(keysToDelete)
-                .map(deletedCount -> deletedCount != null && deletedCount > 0)
+        return unlinkIndexedQueries(sessionId)
+                .map(deletedCount -> deletedCount > 0)
                 .doOnError(e -> log.warn("Cache invalidate failed (skip): sessionId={} - {}", sessionId, e.getMessage()))
                 .onErrorReturn(false);
     }
 
+    /**
+     * 쿼리 캐시 키를 세션별 인덱스에 등록 (인덱스 TTL은 마지막 등록 기준으로 연장)
+     */
+    private Mono<Boolean> indexQueryKey(String sessionId, String key) {
+        final String indexKey = queryIndexKey(sessionId);
+        return redisTemplate.opsForSet().add(indexKey, key)
+                .then(redisTemplate.expire(indexKey, queryHardTtl()))
+                .doOnError(e -> log.warn("Query Index SADD failed (skip): {} - {}", indexKey, e.getMessage()))
+                .onErrorReturn(false);
+    }
+
+    /**
+     * 인덱스에 등록된 쿼리 키 + 인덱스 자신을 Lua 스크립트 한 번으로 원자적 UNLINK (비차단 해제)
+     * 반환값은 인덱스에 등록돼 있던 키 수 (이미 만료된 키 포함)
+     */
+    private Mono<Long> unlinkIndexedQueries(String sessionId) {
+        final String indexKey = queryIndexKey(sessionId);
+        return redisTemplate.execute(UNLINK_INDEXED_SCRIPT, List.of(indexKey))
+                .cast(Object.class)
+                // Lettuce는 multi-bulk 결과를 요소 단위로 발행하므로 두 형태 모두 처리
+                .flatMapIterable(result -> result instanceof List<?> members ? members : List.of(result))
+                .map(String::valueOf)
+                .collectList()
+                .flatMap(keys -> {
+                    keys.forEach(l1::invalidate);
+                    return Flux.fromIterable(keys)
+                            .flatMap(this::publishInvalidation)
+                            .then(Mono.just((long) keys.size()));
+                });
+    }
+
+    /**
+     * 쿼리 캐시 키 조회 (in-flight 요청 병합 등 동일 질의 식별용)
+     */
+    @Override
+    public String queryCacheKey(String sessionId, String message) {
+        return generateCacheKey(sessionId, message);
+    }
+
     /**
      * 캐시 키 생성
      *
@@ -171,10 +450,128 @@ public class CacheServiceImpl implements CacheService {
         return "query:" + sessionId + ":" + msgHash;
     }
 
+    private String responseBodyKey(String sessionId, String message) {
+        return "response:" + generateCacheKey(sessionId, message).substring("query:".length());
+    }
+
     private String sessionKey(String sessionId) {
         return "session:" + sessionId;
     }
 
+    private String queryIndexKey(String sessionId) {
+        return "query-index:" + sessionId;
+    }
+
+    private Duration ttlFor(String key) {
+        return key.startsWith("session:") ? SESSION_CACHE_TTL : queryHardTtl();
+    }
+
+    private Duration queryHardTtl() {
+        return QUERY_CACHE_TTL.plus(staleGrace);
+    }
+
+    /**
+     * L1 항목의 남은 TTL
+     */
+    private Duration l1Remaining(String key) {
+        return l1.policy().expireVariably()
+                .flatMap(policy -> policy.getExpiresAfter(key))
+                .orElse(null);
+    }
+
+    /**
+     * L2에서 읽은 값을 Redis의 남은 TTL만큼 L1에 보관
+     */
+    private void putL1(String key, Object value, Duration remaining) {
+        Object stored = toL1(value);
+        if (remaining == null || remaining.isNegative() || remaining.isZero()) {
+            l1.put(key, stored);
+            return;
+        }
+        l1.policy().expireVariably().ifPresentOrElse(
+                policy -> policy.put(key, stored, remaining),
+                () -> l1.put(key, stored));
+    }
+
+    /**
+     * L1 저장 형태
+     * 가변 객체(ChatSession, AiResponse)는 Redis 값 코덱 바이트로 보관하고 조회마다 새 객체로 복원
+     * (동시 요청이 같은 인스턴스를 공유하며 수정하지 않도록), 응답 본문(CachedResponseBody)은 그대로 보관
+     */
+    private Object toL1(Object value) {
+        if (value instanceof ChatSession || value instanceof AiResponse) {
+            ByteBuffer buffer = redisTemplate.getSerializationContext().getValueSerializationPair().write(value);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return new EncodedValue(bytes);
+        }
+        return value;
+    }
+
+    /**
+     * L1 조회 (없거나 타입이 다르거나 복원 실패 시 null)
+     */
+    private <T> T fromL1(String key, Class<T> type) {
+        Object local = l1.getIfPresent(key);
+        if (local instanceof EncodedValue encoded) {
+            try {
+                local = redisTemplate.getSerializationContext().getValueSerializationPair().read(ByteBuffer.wrap(encoded.bytes()));
+            } catch (RuntimeException e) {
+                log.warn("L1 Cache 값 복원 실패 (무효화): {} - {}", key, e.getMessage());
+                l1.invalidate(key);
+                return null;
+            }
+        }
+        return type.isInstance(local) ? type.cast(local) : null;
+    }
+
+    private Counter staleCounter(String cache) {
+        return staleCounters.get(cache);
+    }
+
+    private Counter refreshAheadCounter(String cache) {
+        return refreshAheadCounters.get(cache);
+    }
+
+    /**
+     * 다른 레플리카의 L1에서 해당 키 제거 요청 (메시지: "{instanceId}|{key}")
+     */
+    private Mono<Long> publishInvalidation(String key) {
+        return redisTemplate.convertAndSend(INVALIDATION_CHANNEL, instanceId + "|" + key)
+                .doOnError(e -> log.warn("L1 Cache 무효화 발행 실패 (skip): {} - {}", key, e.getMessage()))
+                .onErrorReturn(0L);
+    }
+
+    /**
+     * 계층별 hit/miss 메트릭 (cache.tier.requests{cache, tier, result})
+     */
+    private void record(String cache, String tier, boolean hit) {
+        TierCounters counters = tierCounters.get(cache);
+        if ("l1".equals(tier)) {
+            (hit ? counters.l1Hit() : counters.l1Miss()).increment();
+        } else {
+            (hit ? counters.l2Hit() : counters.l2Miss()).increment();
+        }
+    }
+
+    private Counter tierCounter(String cache, String tier, String result) {
+        return Counter.builder("cache.tier.requests")
+                .description("캐시 계층별 조회 결과")
+                .tag("cache", cache)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record TierCounters(Counter l1Hit, Counter l1Miss, Counter l2Hit, Counter l2Miss) {
+    }
+
+    /**
+     * L1에 보관하는 직렬화된 값
+     */
+    private record EncodedValue(byte[] bytes) {
+    }
+
     private String sha256Hex(String input) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -1,11 +1,19 @@
 package com.labg.aigateway.service.impl;
 
+import com.labg.aigateway.dto.request.AiEngineRequest;
 import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.entity.Message;
 import com.labg.aigateway.service.ContextManager;
+import com.labg.aigateway.service.ConversationSummarizer;
+import com.labg.aigateway.service.MessageStore;
+import com.labg.aigateway.service.TokenCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.ZoneId;
 import java.util.*;
@@ -26,63 +34,89 @@ import java.util.*;
 @Slf4j
 public class ContextManagerImpl implements ContextManager {
 
+    // 메시지별 역할/포맷 오버헤드 보정
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+
+    private final MessageStore messageStore;
+    private final TokenCounter tokenCounter;
+    private final ConversationSummarizer conversationSummarizer;
+    private final MeterRegistry meterRegistry;
+
+    private DistributionSummary promptTokens;
+
+    @PostConstruct
+    void init() {
+        this.promptTokens = DistributionSummary.builder("context.prompt.tokens")
+                .description("AI Engine에 전달하는 컨텍스트 토큰 수 (요약 포함)")
+                .baseUnit("tokens")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
     /**
      * 최근 N개 메시지 추출 (기본 10개)
+     * 메시지 버킷 중 최신 버킷만 읽으므로 대화 길이와 무관하게 일정한 비용
+     * 롤링 요약이 있으면 요약 메시지를 맨 앞에 추가하고, 요약에 포함된 메시지는 제외
      * @param session
      * @param maxMessages
      * @return
      */
     @Override
-    public List<Message> getRecentContext(ChatSession session, int maxMessages) {
-        if (session == null || session.getMessages() == null || session.getMessages().isEmpty()) {
-            return List.of();
+    public Mono<List<Message>> getRecentContext(ChatSession session, int maxMessages) {
+        if (session == null || maxMessages <= 0) {
+            return Mono.just(List.of());
         }
-        int count = Math.max(0, maxMessages);
-        List<Message> recent = session.getRecentMessages(count);
-        return recent == null ? List.of() : recent;
+
+        Message summary = conversationSummarizer.summaryMessage(session);
+        if (summary == null) {
+            return messageStore.findRecent(session.getSessionId(), maxMessages);
+        }
+
+        long summarizedUntil = session.getSummarizedUntilSeq() == null ? 0 : session.getSummarizedUntilSeq();
+        return messageStore.findRecent(session.getSessionId(), maxMessages)
+                .map(recent -> {
+                    List<Message> context = new ArrayList<>(recent.size() + 1);
+                    context.add(summary);
+                    for (Message message : recent) {
+                        if (message.getSeq() == null || message.getSeq() >= summarizedUntil) {
+                            context.add(message);
+                        }
+                    }
+                    return context;
+                });
     }
 
     /**
      * Domain Message → DTO ContextMessage 변환: AI Engine에 전달할 컨텍스트 포맷팅
+     * epoch seconds는 메시지 생성 시 저장된 값을 사용 (이전 메시지만 timestamp에서 변환)
      * @param messages
      * @return
      */
     @Override
-    public Map<String, Object> formatContextForAi(List<Message> messages) {
+    public AiEngineRequest.Context formatContextForAi(List<Message> messages) {
         if (messages == null || messages.isEmpty()) {
             return null;  // null이면 JSON에서 제외됨
         }
 
-        List<Map<String, Object>> messageList = new ArrayList<>();
+        List<AiEngineRequest.ContextMessage> messageList = new ArrayList<>(messages.size());
 
         for (Message msg : messages) {
             if (msg == null) continue;
 
-            Map<String, Object> messageMap = new HashMap<>();
-            messageMap.put("role", Objects.toString(msg.getRole(), ""));
-            messageMap.put("content", Objects.toString(msg.getContent(), ""));
-
-            if (msg.getTimestamp() != null) {
-                long epochSec = msg.getTimestamp()
-                    .atZone(ZoneId.systemDefault())
-                    .toEpochSecond();
-                messageMap.put("timestamp", epochSec);
-            } else {
-                messageMap.put("timestamp", 0L);
-            }
-
-            messageList.add(messageMap);
+            messageList.add(new AiEngineRequest.ContextMessage(
+                    Objects.toString(msg.getRole(), ""),
+                    Objects.toString(msg.getContent(), ""),
+                    epochSecondOf(msg)
+            ));
         }
 
-        Map<String, Object> context = new HashMap<>();
-        context.put("messages", messageList);
-
-        return context;
+        return new AiEngineRequest.Context(messageList);
     }
 
 
     /**
      * 토큰 제한에 맞게 메시지 자르기
+     * 맨 앞의 요약 메시지는 항상 유지하고 남은 예산으로 최근 메시지를 채움
      * @param messages
      * @param maxTokens
      * @return
@@ -91,82 +125,59 @@ public class ContextManagerImpl implements ContextManager {
     public List<Message> truncateByTokenLimit(List<Message> messages, int maxTokens) {
         if (messages == null || messages.isEmpty()) return List.of();
         int budget = Math.max(0, maxTokens);
+
+        Message summary = null;
+        int first = 0;
+        int used = 0;
+        if (messages.get(0) != null && ConversationSummarizer.SUMMARY_ROLE.equals(messages.get(0).getRole())) {
+            summary = messages.get(0);
+            used = tokensOf(summary);
+            budget = Math.max(0, budget - used);
+            first = 1;
+        }
+
         List<Message> result = new ArrayList<>();
         // 최신 메시지 우선 보존: 뒤에서 앞으로 누적, 예산 내에서 추가
-        for (int i = messages.size() - 1; i >= 0; i--) {
+        for (int i = messages.size() - 1; i >= first; i--) {
             Message m = messages.get(i);
             if (m == null) continue;
-            int cost = estimateTokensForText(Objects.toString(m.getContent(), ""));
+            int cost = tokensOf(m);
             if (cost <= budget) {
                 result.add(m);
                 budget -= cost;
+                used += cost;
             } else {
                 // 남은 예산이 일부라도 있으면 잘라서 포함할 수도 있으나, 간단화를 위해 생략
                 break;
             }
         }
+        if (summary != null) {
+            result.add(summary);
+        }
         Collections.reverse(result);
-        return result;
-    }
 
-    /**
-     * 컨텍스트 정리 필요 여부 판단
-     * @param session
-     * @return
-     */
-    @Override
-    public boolean shouldTruncateContext(ChatSession session) {
-        if (session == null || session.getMessages() == null) return false;
-        List<Message> all = session.getMessages();
-        // 정책 1: 토큰 수 4000 초과 시 정리
-        if (estimateTokenCount(all) > 4000) return true;
-        // 정책 2: 최대 컨텍스트 윈도우 초과 시 정리 (user/assistant 쌍 고려해 2배까지 허용)
-        Integer window = session.getMaxContextWindow();
-        return window != null && all.size() > window * 2;
+        promptTokens.record(used);
+        return result;
     }
 
-
     // ===== 내부 유틸 =====
 
-    /**
-     * 토큰 수 추정 (대략적, 한글 1글자 -> 2토큰)
-     * @param messages
-     * @return
-     */
-    private int estimateTokenCount(List<Message> messages) {
-        if (messages == null || messages.isEmpty()) return 0;
-        long total = 0;
-        for (Message m : messages) {
-            if (m == null) continue;
-            String text = m.getContent();
-            if (text == null || text.isEmpty()) continue;
-            total += estimateTokensForText(text);
+    private long epochSecondOf(Message message) {
+        if (message.getEpochSecond() != null) {
+            return message.getEpochSecond();
         }
-        return (int) Math.min(Integer.MAX_VALUE, total);
-    }
-
-    private int estimateTokensForText(String text) {
-        if (text == null || text.isEmpty()) return 0;
-        int tokens = 0;
-        for (int i = 0; i < text.length(); i++) {
-            char ch = text.charAt(i);
-            if (isCjkOrKorean(ch)) {
-                tokens += 2; // 한글/중국어/일본어: 대략 2토큰
-            } else {
-                tokens += 1; // 기타 문자: 대략 1토큰
-            }
+        if (message.getTimestamp() != null) {
+            return message.getTimestamp().atZone(ZoneId.systemDefault()).toEpochSecond();
         }
-        // 약간의 프롬프트/메타 오버헤드 보정
-        return tokens + 4;
+        return 0L;
     }
 
-    private boolean isCjkOrKorean(char ch) {
-        // 한글 자모, 한글 음절, CJK 통합 한자, 히라가나/가타카나 범위
-        return (ch >= '\u1100' && ch <= '\u11FF')   // Hangul Jamo
-                || (ch >= '\u3130' && ch <= '\u318F') // Hangul Compatibility Jamo
-                || (ch >= '\uAC00' && ch <= '\uD7AF') // Hangul Syllables
-                || (ch >= '\u3040' && ch <= '\u309F') // Hiragana
-                || (ch >= '\u30A0' && ch <= '\u30FF') // Katakana
-                || (ch >= '\u4E00' && ch <= '\u9FFF'); // CJK Unified Ideographs
+    /**
+     * 메시지 토큰 수 - 저장 시 계산된 값 사용, 이전 형식 메시지만 다시 계산
+     */
+    private int tokensOf(Message message) {
+        Integer stored = message.getTokenCount();
+        int tokens = stored != null ? stored : tokenCounter.count(message.getContent());
+        return tokens + MESSAGE_OVERHEAD_TOKENS;
     }
 }
@@ -0,0 +1,44 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.service.TokenCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : HeuristicTokenCounter
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 문자 종류 기반 토큰 수 추정 (한글/CJK 1글자 -> 2토큰, 그 외 1토큰)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Service
+@ConditionalOnProperty(name = "context.tokenizer.mode", havingValue = "heuristic", matchIfMissing = true)
+public class HeuristicTokenCounter implements TokenCounter {
+
+    @Override
+    public int count(String text) {
+        if (text == null || text.isEmpty()) return 0;
+        int tokens = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            // 대부분인 ASCII/라틴 문자는 범위 비교 한 번으로 넘김
+            if (ch >= '\u1100' && isCjkOrKorean(ch)) {
+                tokens++; // 한글/중국어/일본어: 대략 2토큰
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isCjkOrKorean(char ch) {
+        // 한글 자모, 한글 음절, CJK 통합 한자, 히라가나/가타카나 범위 (호출부에서 U+1100 이상 확인)
+        return (ch <= '\u11FF')                     // Hangul Jamo
+                || (ch >= '\u3130' && ch <= '\u318F') // Hangul Compatibility Jamo
+                || (ch >= '\uAC00' && ch <= '\uD7AF') // Hangul Syllables
+                || (ch >= '\u3040' && ch <= '\u30FF') // Hiragana, Katakana
+                || (ch >= '\u4E00' && ch <= '\u9FFF'); // CJK Unified Ideographs
+    }
+}
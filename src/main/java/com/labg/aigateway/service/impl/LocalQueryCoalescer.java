@@ -0,0 +1,160 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.service.CacheService;
+import com.labg.aigateway.service.QueryCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : LocalQueryCoalescer
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 프로세스 내 in-flight 요청 레지스트리 기반 질의 병합
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Service
+@ConditionalOnProperty(name = "ai-engine.coalescing.mode", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalQueryCoalescer implements QueryCoalescer {
+
+    protected final CacheService cacheService;
+
+    // 쿼리 캐시 키 → 진행 중인 공유 호출
+    private final Map<String, InFlightCall> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter originatedCounter;
+    private final Counter coalescedCounter;
+    private final Counter abandonedCounter;
+
+    public LocalQueryCoalescer(CacheService cacheService, MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.originatedCounter = Counter.builder("ai.engine.query.coalescing")
+                .description("AI Engine 질의 병합 결과")
+                .tag("result", "originated")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("ai.engine.query.coalescing")
+                .description("AI Engine 질의 병합 결과")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        this.abandonedCounter = Counter.builder("ai.engine.query.coalescing")
+                .description("AI Engine 질의 병합 결과")
+                .tag("result", "abandoned")
+                .register(meterRegistry);
+        Gauge.builder("ai.engine.query.inflight", inFlight, Map::size)
+                .description("진행 중인 고유 AI Engine 질의 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 동일 질의가 진행 중이면 해당 호출에 합류, 아니면 새로 시작
+     * - 결과/에러 모두 공유되며, 완료 즉시 레지스트리에서 제거됨
+     * - 대기자가 모두 취소하면(클라이언트 연결 종료) 엔진 호출도 취소 (cache()와 달리 upstream 유지 안 함)
+     * - 공유 호출은 첫 요청의 Reactor Context(요청 마감 등)로 실행 (합류한 요청도 같은 마감을 따름)
+     */
+    @Override
+    public Mono<AiResponse> coalesce(String sessionId, String message, Supplier<Mono<AiResponse>> engineCall) {
+        return Mono.deferContextual(context -> {
+            final String key = cacheService.queryCacheKey(sessionId, message);
+
+            while (true) {
+                InFlightCall existing = inFlight.get(key);
+                if (existing != null) {
+                    if (existing.tryJoin()) {
+                        coalescedCounter.increment();
+                        log.debug("In-flight 질의 병합 - key: {}", key);
+                        return existing.result();
+                    }
+                    // 모든 대기자가 떠나 취소 중인 호출 - 새로 시작
+                    inFlight.remove(key, existing);
+                    continue;
+                }
+
+                InFlightCall call = new InFlightCall();
+                call.tryJoin();
+                if (inFlight.putIfAbsent(key, call) != null) {
+                    continue;
+                }
+
+                originatedCounter.increment();
+                call.start(Mono.defer(() -> originate(sessionId, message, engineCall))
+                        .doFinally(signal -> inFlight.remove(key, call)), context);
+                return call.result();
+            }
+        });
+    }
+
+    /**
+     * 레지스트리의 첫 요청이 실제로 실행할 호출 (하위 클래스에서 분산 병합 등으로 확장)
+     */
+    protected Mono<AiResponse> originate(String sessionId, String message, Supplier<Mono<AiResponse>> engineCall) {
+        return engineCall.get();
+    }
+
+    /**
+     * 대기자 수를 세는 공유 호출
+     * 대기자가 0이 되면 upstream을 취소하고 이후 합류를 막음(-1)
+     */
+    private final class InFlightCall {
+
+        private final Sinks.One<AiResponse> sink = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private volatile Disposable upstream;
+
+        boolean tryJoin() {
+            for (;;) {
+                int current = waiters.get();
+                if (current < 0) {
+                    return false;
+                }
+                if (waiters.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void start(Mono<AiResponse> call, ContextView context) {
+            upstream = call.contextWrite(context).subscribe(
+                    value -> sink.tryEmitValue(value),
+                    sink::tryEmitError,
+                    sink::tryEmitEmpty);
+        }
+
+        Mono<AiResponse> result() {
+            return sink.asMono()
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            leave();
+                        }
+                    });
+        }
+
+        private void leave() {
+            if (waiters.decrementAndGet() == 0 && waiters.compareAndSet(0, -1)) {
+                Disposable running = upstream;
+                if (running != null && !running.isDisposed()) {
+                    abandonedCounter.increment();
+                    running.dispose();
+                }
+            }
+        }
+    }
+}
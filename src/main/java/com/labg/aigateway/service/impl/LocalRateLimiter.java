@@ -0,0 +1,72 @@
+package com.labg.aigateway.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.labg.aigateway.service.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : LocalRateLimiter
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : 프로세스 내 lock-free 토큰 버킷 (레플리카별 제한)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Service
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    // 버킷 키 → 상태 (일정 시간 사용되지 않은 버킷은 가득 찬 것과 같으므로 제거)
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    public LocalRateLimiter(@Value("${rate-limit.max-buckets:100000}") long maxBuckets,
+                            @Value("${rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<Decision> tryAcquire(String key, Rule rule) {
+        return Mono.fromSupplier(() -> acquire(key, rule));
+    }
+
+    /**
+     * CAS 루프로 충전 + 소비를 한 번에 반영 (락 없음)
+     */
+    private Decision acquire(String key, Rule rule) {
+        AtomicReference<Bucket> ref = buckets.get(key,
+                k -> new AtomicReference<>(new Bucket(rule.capacity(), System.nanoTime())));
+        double tokensPerNano = rule.refillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+
+        while (true) {
+            Bucket current = ref.get();
+            long now = System.nanoTime();
+            double tokens = Math.min(rule.capacity(),
+                    current.tokens() + Math.max(0, now - current.refilledAt()) * tokensPerNano);
+
+            if (tokens < 1) {
+                long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                return Decision.reject(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1, now))) {
+                return Decision.allow();
+            }
+        }
+    }
+
+    private record Bucket(double tokens, long refilledAt) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.entity.ChatSession;
+import com.labg.aigateway.entity.Message;
+import com.labg.aigateway.entity.MessageBucket;
+import com.labg.aigateway.service.MessageStore;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : MongoMessageStore
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : MongoDB 버킷 패턴 메시지 저장소
+ *                  (sessionId, seq) 당 bucket-size개 메시지, 읽기/쓰기 비용이 대화 길이와 무관
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+@Service
+@Slf4j
+public class MongoMessageStore implements MessageStore {
+
+    private static final int ORPHAN_BATCH_SIZE = 500;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int bucketSize;
+
+    public MongoMessageStore(ReactiveMongoTemplate mongoTemplate,
+                             @Value("${session.message-bucket-size:50}") int bucketSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.bucketSize = Math.max(1, bucketSize);
+    }
+
+    /**
+     * 메시지 seq로 대상 버킷을 정해 upsert ($push + $sort로 동시 추가 시에도 순서 유지)
+     * 메시지 쌍이 버킷 경계에 걸치면 두 버킷에 나눠 기록
+     */
+    @Override
+    public Mono<Void> append(String sessionId, long firstSeq, List<Message> messages) {
+        Map<Integer, List<Message>> byBucket = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            long seq = firstSeq + i;
+            message.setSeq(seq);
+            byBucket.computeIfAbsent((int) (seq / bucketSize), k -> new ArrayList<>()).add(message);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return Flux.fromIterable(byBucket.entrySet())
+                .concatMap(entry -> {
+                    Query query = Query.query(Criteria.where("sessionId").is(sessionId).and("seq").is(entry.getKey()));
+                    Update update = new Update()
+                            .inc("count", entry.getValue().size())
+                            .set("updatedAt", now)
+                            .setOnInsert("createdAt", now);
+                    update.push("messages")
+                            .sort(Sort.by("seq"))
+                            .each(entry.getValue().toArray());
+
+                    // 같은 새 버킷을 동시에 upsert하면 한쪽이 unique 충돌 → 재시도 시 update로 처리됨
+                    return mongoTemplate.upsert(query, update, MessageBucket.class)
+                            .retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance));
+                })
+                .then();
+    }
+
+    /**
+     * 최신 버킷부터 limit개를 채울 만큼만 조회 (버킷 크기 ≥ limit이면 최대 2개)
+     * 버킷 기록이 limit보다 짧으면 기존 세션 문서에 embedded된 메시지를 가장 오래된 구간으로 합침
+     * (이전 저장 형식 호환 - 전환 후 첫 메시지 추가로 버킷이 생겨도 이전 대화가 사라지지 않도록)
+     */
+    @Override
+    public Mono<List<Message>> findRecent(String sessionId, int limit) {
+        if (limit <= 0) {
+            return Mono.just(List.of());
+        }
+
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId))
+                .with(Sort.by(Sort.Direction.DESC, "seq"))
+                .limit(limit / bucketSize + 2);
+        query.fields().include("messages");
+
+        return mongoTemplate.find(query, MessageBucket.class)
+                .collectList()
+                .map(this::flattenNewestFirst)
+                .flatMap(messages -> messages.size() >= limit
+                        ? Mono.just(messages)
+                        : findLegacyMessages(sessionId).map(legacy -> prependLegacy(legacy, messages)))
+                .map(all -> all.size() <= limit ? all : new ArrayList<>(all.subList(all.size() - limit, all.size())));
+    }
+
+    @Override
+    public Mono<List<Message>> findRange(String sessionId, long fromSeq, long toSeq) {
+        if (toSeq <= fromSeq) {
+            return Mono.just(List.of());
+        }
+
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId)
+                        .and("seq").gte((int) (fromSeq / bucketSize)).lte((int) ((toSeq - 1) / bucketSize)))
+                .with(Sort.by(Sort.Direction.ASC, "seq"));
+        query.fields().include("messages");
+
+        return mongoTemplate.find(query, MessageBucket.class)
+                .concatMapIterable(MessageBucket::getMessages)
+                .filter(message -> message.getSeq() != null && message.getSeq() >= fromSeq && message.getSeq() < toSeq)
+                .collectList();
+    }
+
+    /**
+     * 이전 형식 메시지 → 버킷 메시지 순
+     */
+    @Override
+    public Flux<Message> findAll(String sessionId) {
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId))
+                .with(Sort.by(Sort.Direction.ASC, "seq"));
+        query.fields().include("messages");
+
+        return Flux.concat(
+                findLegacyMessages(sessionId).flatMapIterable(legacy -> legacy),
+                mongoTemplate.find(query, MessageBucket.class).concatMapIterable(MessageBucket::getMessages));
+    }
+
+    @Override
+    public Mono<Long> deleteBySessionIds(List<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("sessionId").in(sessionIds)), MessageBucket.class)
+                .map(result -> result.getDeletedCount());
+    }
+
+    /**
+     * 오랫동안 갱신되지 않은 버킷 중 세션 문서가 없는 것만 삭제
+     * (세션은 TTL 인덱스로 MongoDB가 직접 삭제하므로 버킷은 여기서 정리)
+     */
+    @Override
+    public Mono<Long> deleteOrphans(LocalDateTime notUpdatedSince) {
+        Query stale = Query.query(Criteria.where("updatedAt").lt(notUpdatedSince));
+
+        return mongoTemplate.findDistinct(stale, "sessionId", MessageBucket.class, String.class)
+                .buffer(ORPHAN_BATCH_SIZE)
+                .concatMap(sessionIds -> {
+                    Query existing = Query.query(Criteria.where("sessionId").in(sessionIds));
+                    existing.fields().include("sessionId");
+
+                    return mongoTemplate.find(existing, Document.class, mongoTemplate.getCollectionName(ChatSession.class))
+                            .map(doc -> doc.getString("sessionId"))
+                            .collect(HashSet<String>::new, Set::add)
+                            .flatMap(alive -> {
+                                List<String> orphans = sessionIds.stream().filter(id -> !alive.contains(id)).toList();
+                                return deleteBySessionIds(orphans);
+                            });
+                })
+                .reduce(0L, Long::sum)
+                .doOnSuccess(deleted -> log.info("고아 메시지 버킷 정리 완료 - 삭제된 버킷 수: {}", deleted));
+    }
+
+    private List<Message> flattenNewestFirst(List<MessageBucket> newestFirst) {
+        List<Message> messages = new ArrayList<>();
+        for (int i = newestFirst.size() - 1; i >= 0; i--) {
+            List<Message> bucketMessages = newestFirst.get(i).getMessages();
+            if (bucketMessages != null) {
+                messages.addAll(bucketMessages);
+            }
+        }
+        return messages;
+    }
+
+    private static List<Message> prependLegacy(List<Message> legacy, List<Message> messages) {
+        if (legacy.isEmpty()) {
+            return messages;
+        }
+        List<Message> merged = new ArrayList<>(legacy.size() + messages.size());
+        merged.addAll(legacy);
+        merged.addAll(messages);
+        return merged;
+    }
+
+    /**
+     * 이전 형식(chat_sessions.messages embedded) 메시지 조회
+     * messages 필드가 없는 세션(새 형식)은 문서를 읽지 않음
+     */
+    private Mono<List<Message>> findLegacyMessages(String sessionId) {
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId).and("messages").exists(true));
+        query.fields().include("messages");
+
+        return mongoTemplate.findOne(query, Document.class, mongoTemplate.getCollectionName(ChatSession.class))
+                .map(doc -> {
+                    List<Document> legacy = doc.getList("messages", Document.class);
+                    if (legacy == null) {
+                        return List.<Message>of();
+                    }
+                    return legacy.stream()
+                            .map(raw -> mongoTemplate.getConverter().read(Message.class, raw))
+                            .toList();
+                })
+                .defaultIfEmpty(List.of());
+    }
+}
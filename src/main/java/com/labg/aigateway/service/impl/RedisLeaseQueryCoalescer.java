@@ -0,0 +1,136 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.service.CacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : RedisLeaseQueryCoalescer
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : Redis lease 기반 게이트웨이 레플리카 간 질의 병합 (결과는 lease별 pub/sub 채널로 전달)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Service
+@ConditionalOnProperty(name = "ai-engine.coalescing.mode", havingValue = "redis")
+@Slf4j
+public class RedisLeaseQueryCoalescer extends LocalQueryCoalescer {
+
+    // lease 소유자가 성공 응답을 발행하는 채널 (lease 키별)
+    private static final String RESULT_CHANNEL_PREFIX = "lease-result:";
+
+    // 소유자가 일치할 때만 lease 해제 (다른 레플리카가 재획득한 lease 보호)
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final Duration leaseTtl;
+    private final Duration pollInterval;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter remoteCoalescedCounter;
+
+    public RedisLeaseQueryCoalescer(CacheService cacheService,
+                                    MeterRegistry meterRegistry,
+                                    ReactiveRedisTemplate<String, Object> redisTemplate,
+                                    @Value("${ai-engine.coalescing.lease-ttl:35s}") Duration leaseTtl,
+                                    @Value("${ai-engine.coalescing.poll-interval:200ms}") Duration pollInterval) {
+        super(cacheService, meterRegistry);
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+        this.pollInterval = pollInterval;
+        this.remoteCoalescedCounter = Counter.builder("ai.engine.query.coalescing")
+                .description("AI Engine 질의 병합 결과")
+                .tag("result", "remote-coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 로컬 레지스트리의 대표 요청만 Redis lease 획득을 시도
+     * - 획득: 직접 호출 → 성공 응답을 결과 채널에 발행 → lease 해제
+     * - 실패: 다른 레플리카가 처리 중이므로 결과 채널에서 대기
+     * (쿼리 캐시는 메시지 추가 시 무효화될 수 있으므로 결과 전달에 사용하지 않음)
+     */
+    @Override
+    protected Mono<AiResponse> originate(String sessionId, String message, Supplier<Mono<AiResponse>> engineCall) {
+        final String leaseKey = "lease:" + cacheService.queryCacheKey(sessionId, message);
+        final String owner = instanceId + ":" + UUID.randomUUID();
+
+        return redisTemplate.opsForValue().setIfAbsent(leaseKey, owner, leaseTtl)
+                .doOnError(e -> log.warn("Query lease 획득 실패 (로컬 병합만 적용): {} - {}", leaseKey, e.getMessage()))
+                .onErrorReturn(true)
+                .flatMap(acquired -> acquired
+                        ? engineCall.get()
+                                .flatMap(response -> publishResult(leaseKey, response).thenReturn(response))
+                                .doFinally(signal -> release(leaseKey, owner))
+                        : awaitOwner(leaseKey, engineCall));
+    }
+
+    /**
+     * lease 소유자의 결과를 결과 채널에서 대기
+     * - 소유자가 결과 없이 lease를 놓으면(실패/취소) pollInterval 주기의 lease 확인으로 감지해 직접 호출
+     * - 구독 전에 발행된 결과는 받지 못하므로 이 경우에도 lease 해제 감지 후 직접 호출 (중복 호출 1회)
+     * - lease TTL이 지나도 결과가 없으면 직접 호출
+     */
+    private Mono<AiResponse> awaitOwner(String leaseKey, Supplier<Mono<AiResponse>> engineCall) {
+        log.debug("다른 레플리카가 처리 중 - 결과 대기. lease: {}", leaseKey);
+
+        Mono<AiResponse> published = redisTemplate.listenToChannel(RESULT_CHANNEL_PREFIX + leaseKey)
+                .map(ReactiveSubscription.Message::getMessage)
+                .ofType(AiResponse.class)
+                .next();
+
+        Mono<AiResponse> released = Flux.interval(pollInterval)
+                .concatMap(tick -> redisTemplate.hasKey(leaseKey))
+                .filter(held -> !held)
+                .next()
+                .then(Mono.error(() -> new IllegalStateException("lease released without result")));
+
+        return Mono.firstWithSignal(published, released)
+                .timeout(leaseTtl)
+                .doOnNext(response -> remoteCoalescedCounter.increment())
+                .onErrorResume(e -> {
+                    log.debug("lease 대기 종료 - 직접 호출. lease: {}, reason: {}", leaseKey, e.getMessage());
+                    return engineCall.get();
+                });
+    }
+
+    /**
+     * 성공 응답만 발행 (실패 응답은 대기자가 lease 해제를 감지해 직접 호출)
+     */
+    private Mono<Long> publishResult(String leaseKey, AiResponse response) {
+        if (!response.isSuccess()) {
+            return Mono.empty();
+        }
+        return redisTemplate.convertAndSend(RESULT_CHANNEL_PREFIX + leaseKey, response)
+                .doOnError(e -> log.warn("Query 결과 발행 실패 (대기자는 직접 호출): {} - {}", leaseKey, e.getMessage()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private void release(String leaseKey, String owner) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), List.of(owner))
+                .doOnError(e -> log.warn("Query lease 해제 실패 (TTL로 만료됨): {} - {}", leaseKey, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+}
@@ -0,0 +1,74 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.service.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * packageName    : com.labg.aigateway.service.impl
+ * fileName       : RedisRateLimiter
+ * author         : 이가은
+ * date           : 2026-10-16
+ * description    : Redis Lua 스크립트 기반 토큰 버킷 (레플리카 간 공유 제한)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-16          이가은             최초 생성
+ */
+@Service
+@ConditionalOnProperty(name = "rate-limit.mode", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    /*
+     * 충전 + 소비를 한 번의 원자적 스크립트로 처리
+     * - 시계는 Redis TIME 사용 (레플리카 간 시계 차이 영향 없음)
+     * - 반환: 0이면 허용, 양수면 다음 토큰까지 남은 ms
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2]) / 1000
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local wait = 0
+            if tokens < 1 then
+              wait = math.ceil((1 - tokens) / rate)
+            else
+              tokens = tokens - 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Redis 장애 시에는 요청을 막지 않음 (fail-open)
+     */
+    @Override
+    public Mono<Decision> tryAcquire(String key, Rule rule) {
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                        List.of("ratelimit:" + key),
+                        List.of(rule.capacity(), rule.refillPerSecond()))
+                .next()
+                .map(wait -> wait > 0 ? Decision.reject(wait) : Decision.allow())
+                .defaultIfEmpty(Decision.allow())
+                .onErrorResume(e -> {
+                    log.warn("Rate limit 스크립트 실행 실패 (허용 처리): {} - {}", key, e.getMessage());
+                    return Mono.just(Decision.allow());
+                });
+    }
+}
@@ -4,15 +4,29 @@ import com.labg.aigateway.entity.ChatSession;
 import com.labg.aigateway.entity.Message;
 import com.labg.aigateway.repository.ChatSessionRepository;
 import com.labg.aigateway.service.CacheService;
-import com.labg.aigateway.service.ContextManager;
+import com.labg.aigateway.service.ConversationSummarizer;
+import com.labg.aigateway.service.MessageStore;
 import com.labg.aigateway.service.SessionService;
+import com.labg.aigateway.service.SessionTouchBuffer;
+import com.labg.aigateway.service.TokenCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * packageName    : com.labg.aigateway.service
@@ -31,8 +45,16 @@ import java.time.LocalDateTime;
 public class SessionServiceImpl implements SessionService {
 
     private final ChatSessionRepository sessionRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
     private final CacheService cacheService;
-    private final ContextManager contextManager;
+    private final SessionTouchBuffer sessionTouchBuffer;
+    private final MessageStore messageStore;
+    private final TokenCounter tokenCounter;
+    private final ConversationSummarizer conversationSummarizer;
+    @Value("${session.expiry-hours:24}")
+    private long expiryHours;
+
+    private static final int CLEANUP_BATCH_SIZE = 500;
 
 
     /**
@@ -69,8 +91,16 @@ public class SessionServiceImpl implements SessionService {
                                         })
                                 )
                 )
-                // lastAccessedAt 업데이트
-                .flatMap(this::updateLastAccessed);
+                // 4. 다른 사용자의 세션이면 이어서 사용하지 않고 새로 생성
+                .flatMap(session -> {
+                    if (isOwnedBy(session, userId)) {
+                        return Mono.just(session);
+                    }
+                    log.warn("다른 사용자의 세션 요청 - 새 세션 생성. sessionId: {}, userId: {}", sessionId, userId);
+                    return createSession(userId);
+                })
+                // lastAccessedAt 업데이트 (버퍼에 기록 후 주기적으로 일괄 반영)
+                .doOnNext(this::touch);
     }
 
     /**
@@ -97,30 +127,16 @@ public class SessionServiceImpl implements SessionService {
      */
     @Override
     public Mono<ChatSession> addMessage(String sessionId, Message message) {
-        return sessionRepository.findBySessionId(sessionId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("세션을 찾을 수 없습니다: " + sessionId)))
-                .flatMap(session -> {
-                    // 메시지 추가 (Domain의 비즈니스 로직 실행)
-                    session.addMessage(message);
-
-                    // 컨텍스트 정리 필요 시 실제 절단 적용
-                    if (contextManager.shouldTruncateContext(session)) {
-                        log.debug("컨텍스트 윈도우 초과 - 정리 실행. sessionId: {}", sessionId);
-                        var truncated = contextManager.truncateByTokenLimit(session.getMessages(), 4000);
-                        session.setMessages(truncated);
-                    }
-
-                    log.debug("메시지 추가 - sessionId: {}, role: {}, content length: {}",
-                            sessionId, message.getRole(), message.getContent() == null ? 0 : message.getContent().length());
+        log.debug("메시지 추가 - sessionId: {}, role: {}, content length: {}",
+                sessionId, message.getRole(), message.getContent() == null ? 0 : message.getContent().length());
 
-                    // MongoDB 저장 후 캐시 업데이트 및 쿼리 캐시 무효화 체인
-                    return sessionRepository.save(session)
-                            .flatMap(saved -> cacheService.cacheSession(saved)
-                                    .onErrorReturn(false)
-                                    .then(cacheService.invalidateQueryCache(sessionId).onErrorReturn(false))
-                                    .thenReturn(saved)
-                            );
-                })
+        // MongoDB 원자적 추가 후 캐시 업데이트 및 쿼리 캐시 무효화 체인
+        return appendMessages(sessionId, message)
+                .flatMap(saved -> cacheService.cacheSession(saved)
+                        .onErrorReturn(false)
+                        .then(cacheService.invalidateQueryCache(sessionId).onErrorReturn(false))
+                        .thenReturn(saved)
+                )
                 .doOnError(error -> log.error("메시지 추가 실패 - sessionId: {}", sessionId, error));
     }
 
@@ -136,59 +152,102 @@ public class SessionServiceImpl implements SessionService {
      */
     @Override
     public Mono<ChatSession> addMessagePair(String sessionId, Message userMessage, Message assistantMessage) {
-        // 세션 조회
-        return sessionRepository.findBySessionId(sessionId)
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("세션을 찾을 수 없습니다: " + sessionId)))
-                .flatMap(session -> {
-                    // 메시지 추가
-                    session.addMessage(userMessage);
-                    session.addMessage(assistantMessage);
-
-                    // 컨텍스트 정리 필요 시 실제 절단 적용
-                    if (contextManager.shouldTruncateContext(session)) {
-                        log.debug("컨텍스트 윈도우 초과 - 정리 실행(페어). sessionId: {}", sessionId);
-                        var truncated = contextManager.truncateByTokenLimit(session.getMessages(), 4000);
-                        session.setMessages(truncated);
-                    }
-
-                    // MongoDB 저장 후 캐시 업데이트 및 쿼리 캐시 무효화 체인
-                    return sessionRepository.save(session)
-                            .flatMap(saved -> cacheService.cacheSession(saved)
-                                    .onErrorReturn(false)
-//                                    .then(cacheService.invalidateQueryCache(sessionId).onErrorReturn(false))
-                                    .thenReturn(saved)
-                            );
-                })
+        // MongoDB 원자적 추가 후 캐시 업데이트 (오래된 구간은 백그라운드에서 요약)
+        return appendMessages(sessionId, userMessage, assistantMessage)
+                .flatMap(saved -> cacheService.cacheSession(saved)
+                        .onErrorReturn(false)
+//                        .then(cacheService.invalidateQueryCache(sessionId).onErrorReturn(false))
+                        .thenReturn(saved)
+                )
+                // 요약 결과(summary 포함 세션)의 캐시 쓰기가 위의 요약 전 세션 쓰기에 덮이지 않도록 캐시 갱신 후 시작
+                .doOnNext(conversationSummarizer::maybeSummarize)
                 .doOnError(error -> log.error("메시지 페어 추가 실패 - sessionId: {}", sessionId, error));
     }
 
+    /**
+     * 전체 대화 히스토리 조회 (내보내기용)
+     * 세션이 없거나 요청 사용자(JWT의 X-User-Id) 소유가 아니면 404
+     *
+     * @param sessionId 세션 ID
+     * @param userId    요청 사용자 ID
+     * @return 오래된 순 메시지
+     */
+    @Override
+    public Flux<Message> getHistory(String sessionId, String userId) {
+        return sessionRepository.findBySessionId(sessionId)
+                .filter(session -> isOwnedBy(session, userId))
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "세션을 찾을 수 없습니다")))
+                .flatMapMany(session -> messageStore.findAll(sessionId));
+    }
+
+    /**
+     * 세션 소유자 확인 (userId가 없는 세션은 누구의 것도 아님)
+     */
+    private boolean isOwnedBy(ChatSession session, String userId) {
+        return userId != null && userId.equals(session.getUserId());
+    }
 
     /**
-     * 만료된 세션 삭제 (24시간 이상 미사용)
+     * 메시지 원자적 추가
+     * - 세션 문서는 $inc messageCount + $set lastAccessedAt만 수행 (문서 크기 고정)
+     * - 증가된 messageCount로 메시지 seq 범위를 예약한 뒤 메시지 버킷에 기록
+     * - 동시에 들어온 다른 탭의 추가도 seq가 겹치지 않으므로 유실되지 않음
+     * - 메시지 토큰 수는 여기서 한 번만 계산해 저장
+     * - 토큰 기준 절단은 AI 요청 생성 시 truncateByTokenLimit에서 적용
      *
-     * @return
+     * @return 갱신된 세션 (세션 캐시 갱신용)
+     */
+    private Mono<ChatSession> appendMessages(String sessionId, Message... messages) {
+        for (Message message : messages) {
+            if (message.getTokenCount() == null) {
+                message.setTokenCount(tokenCounter.count(message.getContent()));
+            }
+        }
+
+        Query query = Query.query(Criteria.where("sessionId").is(sessionId));
+        Update update = new Update()
+                .set("lastAccessedAt", LocalDateTime.now())
+                .inc("messageCount", messages.length);
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), ChatSession.class)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("세션을 찾을 수 없습니다: " + sessionId)))
+                .flatMap(saved -> messageStore.append(sessionId, saved.getMessageCount() - messages.length, List.of(messages))
+                        .thenReturn(saved));
+    }
+
+
+    /**
+     * 만료된 세션 정리 (TTL 인덱스 보조 - 인덱스 생성 실패/TTL 모니터 지연 대비)
+     * - sessionId만 projection으로 조회 (메시지 본문은 읽지 않음)
+     * - CLEANUP_BATCH_SIZE 단위 deleteMany + 메시지 버킷 삭제 + 세션 캐시 일괄 UNLINK
+     * - TTL 인덱스로 삭제된 세션의 버킷은 고아 버킷 정리로 삭제
      */
     @Scheduled(cron = "${session.cleanup-cron:0 0 3 * * ?}")
     private void cleanExpiredSessions() {
         log.info("만료된 세션 정리 시작");
 
-        LocalDateTime expiryTime = LocalDateTime.now().minusHours(24);
+        LocalDateTime expiryTime = LocalDateTime.now().minusHours(expiryHours);
+        String collection = mongoTemplate.getCollectionName(ChatSession.class);
 
-        sessionRepository.findByLastAccessedAtBefore(expiryTime)
-                .flatMap(session -> {
-                    log.debug("만료된 세션 삭제 - sessionId: {}, lastAccessed: {}",
-                            session.getSessionId(), session.getLastAccessedAt());
-                    return sessionRepository.delete(session)
-                            .thenReturn(session.getSessionId());
-                })
-                .collectList()
-                .doOnSuccess(deletedIds -> {
-                    log.info("만료된 세션 정리 완료 - 삭제된 세션 수: {}", deletedIds.size());
-                    // 캐시에서도 제거
-                    deletedIds.forEach(sessionId ->
-                            cacheService.invalidateCache(sessionId).subscribe()
-                    );
+        Query expired = Query.query(Criteria.where("lastAccessedAt").lt(expiryTime));
+        expired.fields().include("sessionId");
+
+        mongoTemplate.find(expired, Document.class, collection)
+                .buffer(CLEANUP_BATCH_SIZE)
+                .concatMap(batch -> {
+                    List<Object> ids = batch.stream().map(doc -> doc.get("_id")).toList();
+                    List<String> sessionIds = batch.stream().map(doc -> doc.getString("sessionId")).toList();
+
+                    // 조회 이후 다시 사용된 세션은 삭제하지 않음
+                    Query toDelete = Query.query(Criteria.where("_id").in(ids).and("lastAccessedAt").lt(expiryTime));
+                    return mongoTemplate.remove(toDelete, collection)
+                            .flatMap(result -> messageStore.deleteBySessionIds(sessionIds)
+                                    .then(cacheService.invalidateSessions(sessionIds).onErrorReturn(0L))
+                                    .thenReturn(result.getDeletedCount()));
                 })
+                .reduce(0L, Long::sum)
+                .doOnSuccess(deleted -> log.info("만료된 세션 정리 완료 - 삭제된 세션 수: {}", deleted))
+                .then(messageStore.deleteOrphans(expiryTime))
                 .doOnError(error -> log.error("만료된 세션 정리 실패", error))
                 .subscribe();
     }
@@ -196,14 +255,14 @@ public class SessionServiceImpl implements SessionService {
 
     /**
      * lastAccessedAt 업데이트
+     * 요청마다 save 하지 않고 touch 버퍼에 최신 시각만 기록
      *
      * @param session 세션
-     * @return 업데이트된 세션
      */
-    private Mono<ChatSession> updateLastAccessed(ChatSession session) {
-        session.setLastAccessedAt(LocalDateTime.now());
-        return sessionRepository.save(session)
-                .doOnSuccess(updated -> cacheService.cacheSession(updated).subscribe());
+    private void touch(ChatSession session) {
+        LocalDateTime now = LocalDateTime.now();
+        session.setLastAccessedAt(now);
+        sessionTouchBuffer.touch(session.getSessionId(), now);
     }
 
 }
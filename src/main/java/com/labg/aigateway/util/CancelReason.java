@@ -0,0 +1,76 @@
+package com.labg.aigateway.util;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * packageName    : com.labg.aigateway.util
+ * fileName       : CancelReason
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 구독 취소 원인 표시 (Reactor Context로 전달, 취소를 일으키는 쪽이 취소 직전에 기록)
+ *                  클라이언트 연결 종료는 별도 신호 없이 구독 취소로만 전달되므로 기록이 없으면 CLIENT로 간주
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+public final class CancelReason {
+
+    public static final String CONTEXT_KEY = CancelReason.class.getName();
+
+    public enum Reason {
+        CLIENT,     // 클라이언트 연결 종료
+        DEADLINE,   // 요청 마감 또는 호출 timeout
+        HEDGE;      // hedge에서 다른 시도가 먼저 응답
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final CancelReason parent;
+    private final AtomicReference<Reason> reason = new AtomicReference<>();
+
+    private CancelReason(CancelReason parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Context에 있는 표시를 부모로 하는 새 표시
+     * 이 단계의 취소는 자신에게, 바깥 단계의 취소는 부모에게 기록되고 조회 시 둘 다 반영
+     */
+    public static CancelReason childOf(ContextView context) {
+        return new CancelReason(context.getOrDefault(CONTEXT_KEY, null));
+    }
+
+    /**
+     * 취소 원인 기록 (먼저 기록된 원인 유지)
+     */
+    public void mark(Reason reason) {
+        this.reason.compareAndSet(null, reason);
+    }
+
+    /**
+     * 자신 또는 바깥 단계에 기록된 원인, 없으면 CLIENT
+     */
+    public Reason reason() {
+        for (CancelReason marker = this; marker != null; marker = marker.parent) {
+            Reason marked = marker.reason.get();
+            if (marked != null) {
+                return marked;
+            }
+        }
+        return Reason.CLIENT;
+    }
+
+    /**
+     * 하위 단계가 이 표시를 부모로 사용하도록 Context에 등록
+     */
+    public Context writeTo(Context context) {
+        return context.put(CONTEXT_KEY, this);
+    }
+}
@@ -0,0 +1,154 @@
+package com.labg.aigateway.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * packageName    : com.labg.aigateway.util
+ * fileName       : Deadline
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 요청 단위 마감 시각 (Reactor Context로 전달, 각 단계는 남은 시간만 사용)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static final String CONTEXT_KEY = Deadline.class.getName();
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean canFit(Duration duration) {
+        return remaining().compareTo(duration) > 0;
+    }
+
+    /**
+     * Context의 마감 시각 (없으면 null - 필터를 거치지 않은 백그라운드 작업 등)
+     */
+    public static Deadline from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    /**
+     * 남은 시간과 stageTimeout 중 짧은 쪽으로 제한 (마감 없으면 stageTimeout)
+     * 마감 초과 시 DeadlineExceededException
+     */
+    public static <T> Mono<T> bound(Mono<T> stage, Duration stageTimeout) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = from(context);
+            CancelReason cancel = CancelReason.childOf(context);
+            if (deadline == null) {
+                return stage.timeout(timer(stageTimeout, cancel)).contextWrite(cancel::writeTo);
+            }
+            Duration remaining = deadline.remaining();
+            if (remaining.isZero()) {
+                return Mono.error(new DeadlineExceededException());
+            }
+            if (remaining.compareTo(stageTimeout) >= 0) {
+                return stage.timeout(timer(stageTimeout, cancel)).contextWrite(cancel::writeTo);
+            }
+            return stage.timeout(timer(remaining, cancel))
+                    .onErrorMap(TimeoutException.class, e -> new DeadlineExceededException())
+                    .contextWrite(cancel::writeTo);
+        });
+    }
+
+    /**
+     * 마감까지만 실행 (stage 자체 timeout 없음)
+     */
+    public static <T> Mono<T> bound(Mono<T> stage) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = from(context);
+            if (deadline == null) {
+                return stage;
+            }
+            Duration remaining = deadline.remaining();
+            if (remaining.isZero()) {
+                return Mono.error(new DeadlineExceededException());
+            }
+            CancelReason cancel = CancelReason.childOf(context);
+            return stage.timeout(timer(remaining, cancel))
+                    .onErrorMap(TimeoutException.class, e -> new DeadlineExceededException())
+                    .contextWrite(cancel::writeTo);
+        });
+    }
+
+    /**
+     * 스트림: 첫 이벤트는 남은 시간 안에, 이후 이벤트 간격은 idleTimeout 안에 도착해야 함
+     */
+    public static <T> Flux<T> boundFirst(Flux<T> stream, Duration idleTimeout) {
+        return Flux.deferContextual(context -> {
+            Deadline deadline = from(context);
+            Duration first = deadline == null ? idleTimeout : min(deadline.remaining(), idleTimeout);
+            if (first.isZero()) {
+                return Flux.error(new DeadlineExceededException());
+            }
+            CancelReason cancel = CancelReason.childOf(context);
+            Function<T, Mono<Long>> idle = item -> timer(idleTimeout, cancel);
+            if (first.equals(idleTimeout)) {
+                return stream.timeout(timer(first, cancel), idle).contextWrite(cancel::writeTo);
+            }
+            // 첫 이벤트 대기가 마감에 걸린 경우만 마감 초과로 구분
+            AtomicBoolean started = new AtomicBoolean(false);
+            return stream.timeout(timer(first, cancel), idle)
+                    .doOnNext(item -> started.set(true))
+                    .onErrorMap(TimeoutException.class, e -> started.get() ? e : new DeadlineExceededException())
+                    .contextWrite(cancel::writeTo);
+        });
+    }
+
+    /**
+     * 다음 시도(backoff 대기 + 최소 실행 시간)가 남은 시간 안에 들어가지 않으면 재시도 대상이 아닌 예외로 변환
+     * nextAttemptCost가 null이면 (재시도하지 않는 에러) 그대로 전달
+     */
+    public static Function<Throwable, Throwable> retryGuard(ContextView context, Function<Throwable, Duration> nextAttemptCost) {
+        return error -> {
+            Deadline deadline = from(context);
+            if (deadline == null || error instanceof DeadlineExceededException) {
+                return error;
+            }
+            Duration cost = nextAttemptCost.apply(error);
+            return cost != null && !deadline.canFit(cost) ? new DeadlineExceededException(error) : error;
+        };
+    }
+
+    /**
+     * timeout 타이머 - 만료 시 timeout 연산자가 stage를 취소하기 전에 취소 원인(DEADLINE) 기록
+     */
+    private static Mono<Long> timer(Duration timeout, CancelReason cancel) {
+        return Mono.delay(timeout).doOnNext(tick -> cancel.mark(CancelReason.Reason.DEADLINE));
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    /**
+     * 요청 마감 초과 (504, 재시도/Circuit Breaker 실패로 집계하지 않음)
+     */
+    public static class DeadlineExceededException extends ResponseStatusException {
+        public DeadlineExceededException() {
+            super(HttpStatus.GATEWAY_TIMEOUT, "요청 처리 시간이 초과되었습니다");
+        }
+
+        public DeadlineExceededException(Throwable cause) {
+            super(HttpStatus.GATEWAY_TIMEOUT, "요청 처리 시간이 초과되었습니다", cause);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.labg.aigateway.util;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * packageName    : com.labg.aigateway.util
+ * fileName       : EarlyRefresh
+ * author         : 이가은
+ * date           : 2026-10-17
+ * description    : 캐시 항목의 확률적 조기 만료 판단 (XFetch)
+ *                  난수는 요청마다 한 번 뽑아 Reactor Context로 전달 (같은 요청의 여러 캐시 계층이 같은 판단을 하도록)
+ * ===========================================================
+ * DATE                 AUTHOR              NOTE
+ * -----------------------------------------------------------
+ * 2026-10-17          이가은             최초 생성
+ */
+public final class EarlyRefresh {
+
+    public static final String CONTEXT_KEY = EarlyRefresh.class.getName();
+
+    private EarlyRefresh() {
+    }
+
+    /**
+     * 요청 단위 난수 기록 (0, 1]
+     */
+    public static Context draw(Context context) {
+        return context.put(CONTEXT_KEY, 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * 남은 TTL이 delta × -ln(U) 이하이면 조기 갱신
+     * - 만료가 가까울수록 확률이 커지고, delta(갱신 소요 시간)가 클수록 일찍 갱신
+     * - Context에 난수가 없으면 조회마다 새로 뽑음
+     */
+    public static boolean shouldRefresh(ContextView context, Duration remaining, Duration delta) {
+        if (remaining == null || remaining.isNegative() || remaining.isZero()) {
+            return false;
+        }
+        double draw = context.getOrDefault(CONTEXT_KEY, 1.0 - ThreadLocalRandom.current().nextDouble());
+        return remaining.toMillis() <= delta.toMillis() * -Math.log(draw);
+    }
+}
@@ -1,35 +1,126 @@
 package com.labg.aigateway.util;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * packageName    : com.labg.aigateway.util
  * fileName       : PasswordEncoder
  * author         : 이가은
  * date           : 2025-11-06
- * description    :
+ * description    : BCrypt 해싱을 전용 bounded 스케줄러에서 수행 (Netty 이벤트 루프 보호)
  * ===========================================================
  * DATE                 AUTHOR              NOTE
  * -----------------------------------------------------------
  * 2025-11-06          이가은             최초 생성
  */
+@Slf4j
 @Component
 public class PasswordEncoder {
 
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final BCryptPasswordEncoder encoder;
+    private final Scheduler scheduler;
+    private final int maxPending;
+
+    // 대기 + 실행 중인 해싱 작업 수
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                           @Value("${security.bcrypt.threads:0}") int threads,
+                           @Value("${security.bcrypt.queue-limit:100}") int queueLimit,
+                           MeterRegistry meterRegistry) {
+        int threadCap = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.scheduler = Schedulers.newBoundedElastic(threadCap, queueLimit, "bcrypt");
+        this.maxPending = threadCap + queueLimit;
+
+        this.encodeTimer = Timer.builder("auth.bcrypt.duration")
+                .description("BCrypt 해싱 소요 시간")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.bcrypt.duration")
+                .description("BCrypt 해싱 소요 시간")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.bcrypt.queue.wait")
+                .description("BCrypt 작업 대기 시간")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.bcrypt.rejected")
+                .description("대기열 초과로 거절된 BCrypt 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.bcrypt.queue.depth", pending, AtomicInteger::get)
+                .description("대기 + 실행 중인 BCrypt 작업 수")
+                .register(meterRegistry);
+
+        log.info("BCrypt 스케줄러 초기화 - strength: {}, threads: {}, queueLimit: {}", strength, threadCap, queueLimit);
+    }
 
     /**
      * 비밀번호 암호화
      */
-    public String encode(String rawPassword) {
-        return encoder.encode(rawPassword);
+    public Mono<String> encode(String rawPassword) {
+        return offload(encodeTimer, () -> encoder.encode(rawPassword));
     }
 
     /**
      * 비밀번호 검증
      */
-    public boolean matches(String rawPassword, String encodedPassword) {
-        return encoder.matches(rawPassword, encodedPassword);
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return offload(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 해싱 작업을 전용 스케줄러에서 실행
+     * 대기열이 가득 차면 즉시 503으로 거절 (로그인 폭주가 채팅 트래픽을 막지 않도록)
+     */
+    private <T> Mono<T> offload(Timer timer, Callable<T> task) {
+        return Mono.defer(() -> {
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                rejectedCounter.increment();
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "로그인 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요"));
+            }
+
+            long submittedAt = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                        long startedAt = System.nanoTime();
+                        queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                        try {
+                            return task.call();
+                        } finally {
+                            timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .doFinally(signal -> pending.decrementAndGet());
+        });
+    }
+
+    @PreDestroy
+    void destroy() {
+        scheduler.dispose();
     }
-}
\ No newline at end of file
+}
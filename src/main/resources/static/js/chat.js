@@ -150,10 +150,16 @@ async function sendMessage() {
     toggleStopButton(true);
     showAITypingIndicator();
 
+    // 스트리밍 중인 AI 메시지 버블 (첫 토큰 도착 시 생성)
+    let streamingMessage = null;
+
     try {
-        // fetchWithAuth 사용 (토큰 자동 추가)
-        const response = await window.SmartRAG.fetchWithAuth('/api/chat/query', {
+        // fetchWithAuth 사용 (토큰 자동 추가), SSE 스트리밍 응답 요청
+        const response = await window.SmartRAG.fetchWithAuth('/api/chat/stream', {
             method: 'POST',
+            headers: {
+                'Accept': 'text/event-stream'
+            },
             body: JSON.stringify({
                 message: message,
                 sessionId: currentSessionId
@@ -161,25 +167,44 @@ async function sendMessage() {
             signal: abortController.signal
         });
 
-        const result = await response.json();
-        console.log('📤 메시지 전송 완료:', result);
-
-        if (result.success) {
-            // AI 응답을 채팅에 추가
-            addMessageToChat('assistant', result.message, {
-                processingTime: result.processingTime,
-                selectedTools: result.metadata?.selectedTools || [],
-                complexityScore: result.metadata?.complexityScore || 0
-            });
-            currentSessionId = result.sessionId;
-        } else {
-            // 에러 메시지 표시
-            addMessageToChat('assistant', result.message || '처리 중 오류가 발생했습니다.', {
-                isError: true,
-                processingTime: result.processingTime
+        if (!response.ok || !response.body) {
+            const result = await response.json().catch(() => ({}));
+            addMessageToChat('assistant', result.message || result.detail || '처리 중 오류가 발생했습니다.', {
+                isError: true
             });
+            return;
         }
 
+        // SSE 이벤트를 도착하는 즉시 처리
+        await readEventStream(response, (event, data) => {
+            if (event === 'session') {
+                currentSessionId = JSON.parse(data).sessionId;
+            } else if (event === 'token') {
+                if (!streamingMessage) {
+                    hideAITypingIndicator();
+                    streamingMessage = createStreamingMessage();
+                }
+                // 토큰은 {"t": "..."} JSON으로 전달됨 (앞 공백/줄바꿈 보존)
+                streamingMessage.append(JSON.parse(data).t);
+            } else if (event === 'done') {
+                const result = JSON.parse(data);
+                console.log('📤 메시지 스트리밍 완료:', result);
+                currentSessionId = result.sessionId || currentSessionId;
+                if (streamingMessage) {
+                    streamingMessage.finish({
+                        processingTime: result.processingTime,
+                        selectedTools: result.metadata?.selectedTools || [],
+                        complexityScore: result.metadata?.complexityScore || 0
+                    });
+                }
+            } else if (event === 'error') {
+                hideAITypingIndicator();
+                addMessageToChat('assistant', data || '처리 중 오류가 발생했습니다.', {
+                    isError: true
+                });
+            }
+        });
+
     } catch (error) {
         if (error.name === 'AbortError') {
             console.log('🛑 사용자가 생성을 중단했습니다.');
@@ -201,6 +226,118 @@ async function sendMessage() {
     }
 }
 
+/**
+ * fetch 응답 본문을 SSE(text/event-stream)로 파싱
+ * EventSource는 POST를 지원하지 않으므로 ReadableStream을 직접 읽음
+ */
+async function readEventStream(response, onEvent) {
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder('utf-8');
+    let buffer = '';
+
+    while (true) {
+        const { done, value } = await reader.read();
+        if (done) break;
+
+        buffer += decoder.decode(value, { stream: true });
+
+        // 이벤트는 빈 줄로 구분됨
+        let boundary;
+        while ((boundary = buffer.search(/\r?\n\r?\n/)) !== -1) {
+            const rawEvent = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, '');
+            dispatchStreamEvent(rawEvent, onEvent);
+        }
+    }
+
+    if (buffer.trim()) {
+        dispatchStreamEvent(buffer, onEvent);
+    }
+}
+
+/**
+ * SSE 이벤트 블록 하나를 event/data로 분리해 전달
+ */
+function dispatchStreamEvent(rawEvent, onEvent) {
+    let event = 'message';
+    const dataLines = [];
+
+    rawEvent.split(/\r?\n/).forEach(line => {
+        if (line.startsWith('event:')) {
+            event = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            // SSE 규격대로 "data:" 뒤의 공백 한 칸만 제거 (토큰은 JSON 문자열이라 영향 없음)
+            const value = line.slice(5);
+            dataLines.push(value.startsWith(' ') ? value.slice(1) : value);
+        }
+    });
+
+    if (dataLines.length > 0) {
+        onEvent(event, dataLines.join('\n'));
+    }
+}
+
+/**
+ * 스트리밍 AI 메시지 버블 생성
+ * 토큰이 도착할 때마다 누적 내용을 다시 렌더링
+ */
+function createStreamingMessage() {
+    const chatMessages = document.getElementById('chat-messages');
+
+    const messageDiv = document.createElement('div');
+    messageDiv.className = 'message-bubble assistant';
+
+    const messageContent = document.createElement('div');
+    messageContent.className = 'message-content';
+    messageDiv.appendChild(messageContent);
+
+    if (chatMessages) {
+        chatMessages.appendChild(messageDiv);
+    }
+
+    let content = '';
+    let renderScheduled = false;
+
+    // 토큰마다 Markdown을 다시 파싱하지 않도록 프레임 단위로 렌더링
+    const render = () => {
+        renderScheduled = false;
+        renderMarkdown(messageContent, content);
+        if (chatMessages) {
+            chatMessages.scrollTop = chatMessages.scrollHeight;
+        }
+    };
+
+    return {
+        append(token) {
+            content += token;
+            if (!renderScheduled) {
+                renderScheduled = true;
+                requestAnimationFrame(render);
+            }
+        },
+        finish(metadata) {
+            // 완성된 내용으로 최종 렌더링 후 일반 메시지와 동일한 형태로 교체
+            messageDiv.remove();
+            addMessageToChat('assistant', content, metadata);
+        }
+    };
+}
+
+/**
+ * Markdown → HTML 변환 후 요소에 반영 (라이브러리 미로드 시 plain text)
+ */
+function renderMarkdown(element, content) {
+    if (typeof marked !== 'undefined' && typeof DOMPurify !== 'undefined') {
+        try {
+            element.innerHTML = DOMPurify.sanitize(marked.parse(content));
+            return;
+        } catch (error) {
+            console.error('❌ Markdown 렌더링 실패:', error);
+        }
+    }
+    element.textContent = content;
+}
+
 /**
  * 채팅에 메시지 추가
  */
@@ -0,0 +1,72 @@
+package com.labg.aigateway.filter;
+
+import com.labg.aigateway.service.RateLimiter;
+import com.labg.aigateway.service.RateLimiter.Decision;
+import com.labg.aigateway.service.RateLimiter.Rule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private final RateLimiter rateLimiter = mock(RateLimiter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, meterRegistry, true, 20, 20, 3, 3);
+
+    private final AtomicBoolean chainCalled = new AtomicBoolean(false);
+    private final WebFilterChain chain = exchange -> Mono.fromRunnable(() -> chainCalled.set(true));
+
+    @Test
+    void 토큰이_없으면_429와_Retry_After() {
+        when(rateLimiter.tryAcquire(anyString(), any())).thenReturn(Mono.just(Decision.reject(1500)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/chat/query").header("X-User-Id", "user-a"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("Too Many Requests");
+        assertThat(chainCalled).isFalse();
+        assertThat(meterRegistry.get("ratelimit.rejected").tag("policy", "chat").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 허용되면_다음_필터로_진행_사용자별_키() {
+        when(rateLimiter.tryAcquire(anyString(), any())).thenReturn(Mono.just(Decision.allow()));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/chat/upload-pdf").header("X-User-Id", "user-a"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chainCalled).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        verify(rateLimiter).tryAcquire(eq("upload:user-a"), eq(new Rule("upload", 3, 3.0 / 60)));
+    }
+
+    @Test
+    void 제한_대상이_아닌_경로는_검사하지_않음() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/health"));
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(chainCalled).isTrue();
+        verify(rateLimiter, never()).tryAcquire(anyString(), any());
+    }
+}
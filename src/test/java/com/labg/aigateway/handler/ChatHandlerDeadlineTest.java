@@ -0,0 +1,152 @@
+package com.labg.aigateway.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labg.aigateway.dto.request.AiEngineRequest;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.entity.ChatSession;
+import com.labg.aigateway.filter.DeadlineFilter;
+import com.labg.aigateway.service.AiEngineClient;
+import com.labg.aigateway.service.CacheService;
+import com.labg.aigateway.service.ContextManager;
+import com.labg.aigateway.service.EngineConcurrencyLimiter;
+import com.labg.aigateway.service.EnginePool;
+import com.labg.aigateway.service.RequestHedger;
+import com.labg.aigateway.service.SemanticCache;
+import com.labg.aigateway.service.SessionService;
+import com.labg.aigateway.service.impl.LocalQueryCoalescer;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * /api/chat/query 요청 마감이 질의 병합(coalescer)을 거쳐 AI Engine 호출까지 전달되는지 확인
+ * (응답하지 않는 가짜 엔진 + 운영 설정과 같은 재시도 규칙)
+ */
+class ChatHandlerDeadlineTest {
+
+    private final AtomicInteger engineHits = new AtomicInteger();
+    private DisposableServer engine;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        engine = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/api/chat/query", (request, response) -> {
+                    engineHits.incrementAndGet();
+                    return Mono.<Void>never();
+                }))
+                .bindNow();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        WebClient webClient = WebClient.create();
+
+        EnginePool enginePool = new EnginePool(webClient, meterRegistry, "http://localhost:" + engine.port(), List.of(),
+                false, 5, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(5));
+        EngineConcurrencyLimiter limiter = new EngineConcurrencyLimiter(10, 2, 64, 50, Duration.ofSeconds(5), 2.0, 0.9, meterRegistry);
+        RequestHedger hedger = new RequestHedger(meterRegistry, false, List.of(), 5, 10, Duration.ofMillis(50));
+
+        // @Retry(name = "aiEngine") 적용과 같은 재시도 (application.yml retry-exceptions 기준, 대기만 짧게)
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalFunction(IntervalFunction.ofExponentialBackoff(Duration.ofMillis(100), 2))
+                .retryExceptions(TimeoutException.class,
+                        org.springframework.web.reactive.function.client.WebClientResponseException.ServiceUnavailable.class)
+                .build());
+        Retry retry = retryRegistry.retry("aiEngine");
+        AiEngineClient aiEngineClient = new AiEngineClient(webClient, limiter, objectMapper, meterRegistry, hedger, enginePool,
+                retryRegistry) {
+            @Override
+            public Mono<AiResponse> query(AiEngineRequest request) {
+                return super.query(request).transformDeferred(RetryOperator.of(retry));
+            }
+        };
+        ReflectionTestUtils.setField(aiEngineClient, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(aiEngineClient, "minAttempt", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(aiEngineClient, "abortPath", "/api/chat/abort");
+        ReflectionTestUtils.invokeMethod(aiEngineClient, "init");
+
+        ChatSession session = ChatSession.builder().sessionId("s1").userId("u1").maxContextWindow(10).build();
+        SessionService sessionService = mock(SessionService.class);
+        when(sessionService.getOrCreateSession(any(), any())).thenReturn(Mono.just(session));
+
+        ContextManager contextManager = mock(ContextManager.class);
+        when(contextManager.getRecentContext(any(), anyInt())).thenReturn(Mono.just(List.of()));
+        when(contextManager.truncateByTokenLimit(any(), anyInt())).thenReturn(List.of());
+        when(contextManager.formatContextForAi(any())).thenReturn(new AiEngineRequest.Context(List.of()));
+
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.getCachedResponseBody(anyString(), anyString())).thenReturn(Mono.empty());
+        when(cacheService.getCachedResponse(anyString(), anyString())).thenReturn(Mono.empty());
+        when(cacheService.queryCacheKey(anyString(), anyString())).thenReturn("query:s1:hello");
+
+        SemanticCache semanticCache = mock(SemanticCache.class);
+        when(semanticCache.lookup(anyString(), anyString())).thenReturn(Mono.empty());
+
+        ChatHandler chatHandler = new ChatHandler(aiEngineClient, sessionService, contextManager, cacheService,
+                new LocalQueryCoalescer(cacheService, meterRegistry), semanticCache, objectMapper);
+
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.POST("/api/chat/query"), chatHandler::handleChat))
+                .webFilter(new DeadlineFilter(Duration.ofSeconds(30), Duration.ofSeconds(60),
+                        Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofSeconds(60)))
+                .configureClient()
+                .responseTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.disposeNow();
+    }
+
+    @Test
+    void 짧은_요청_마감이면_재시도_없이_504() throws InterruptedException {
+        long startNanos = System.nanoTime();
+
+        client.post()
+                .uri("/api/chat/query")
+                .header(DeadlineFilter.TIMEOUT_HEADER, "300ms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("message", "hello", "sessionId", "s1"))
+                .exchange()
+                .expectStatus().isEqualTo(504);
+
+        // 엔진 호출 timeout(5s)이 아니라 요청 마감(300ms) 기준으로 끝나야 함
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(3));
+
+        // 재시도 backoff(100ms)가 지나도 추가 호출 없음
+        Thread.sleep(500);
+        assertThat(engineHits.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.labg.aigateway.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.labg.aigateway.dto.response.CachedResponseBody;
+import com.labg.aigateway.entity.ChatSession;
+import com.labg.aigateway.service.AiEngineClient;
+import com.labg.aigateway.service.CacheService;
+import com.labg.aigateway.service.ContextManager;
+import com.labg.aigateway.service.QueryCoalescer;
+import com.labg.aigateway.service.SemanticCache;
+import com.labg.aigateway.service.SessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * /api/chat/query 응답 본문 캐시 HIT 시 ETag / If-None-Match(304) 처리 확인
+ */
+class ChatHandlerEtagTest {
+
+    private final byte[] bytes = "{\"success\":true,\"message\":\"답변\"}".getBytes(StandardCharsets.UTF_8);
+    private final CachedResponseBody body = new CachedResponseBody(bytes, CachedResponseBody.etagOf(bytes));
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        SessionService sessionService = mock(SessionService.class);
+        when(sessionService.getOrCreateSession(any(), any()))
+                .thenReturn(Mono.just(ChatSession.builder().sessionId("s1").userId("u1").build()));
+
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.getCachedResponseBody(anyString(), anyString())).thenReturn(Mono.just(body));
+
+        ChatHandler chatHandler = new ChatHandler(mock(AiEngineClient.class), sessionService, mock(ContextManager.class),
+                cacheService, mock(QueryCoalescer.class), mock(SemanticCache.class), new ObjectMapper());
+
+        client = WebTestClient.bindToRouterFunction(RouterFunctions.route(
+                        RequestPredicates.POST("/api/chat/query"), chatHandler::handleChat))
+                .build();
+    }
+
+    private WebTestClient.RequestHeadersSpec<?> query() {
+        return client.post()
+                .uri("/api/chat/query")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("message", "질문", "sessionId", "s1"));
+    }
+
+    @Test
+    void 캐시_HIT는_ETag와_저장된_본문_그대로_전송() {
+        query().exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, body.etag())
+                .expectBody().consumeWith(result -> assertThat(result.getResponseBody()).isEqualTo(bytes));
+    }
+
+    @Test
+    void If_None_Match가_일치하면_본문_없이_304() {
+        query().header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + body.etag())
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, body.etag())
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void weak_ETag도_일치로_판단() {
+        query().header(HttpHeaders.IF_NONE_MATCH, "W/" + body.etag())
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void If_None_Match가_다르면_200() {
+        query().header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, body.etag());
+    }
+}
@@ -0,0 +1,139 @@
+package com.labg.aigateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EngineConcurrencyLimiter limiter(int initialLimit, int maxQueue, Duration queueTimeout) {
+        return new EngineConcurrencyLimiter(initialLimit, 1, 64, maxQueue, queueTimeout, 2.0, 0.5, meterRegistry);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("ai.engine.concurrency.rejected").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void limit을_넘는_호출은_대기_후_빈_자리가_나면_실행() {
+        EngineConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(5));
+        Sinks.One<String> first = Sinks.one();
+        AtomicReference<String> second = new AtomicReference<>();
+
+        limiter.limit(first.asMono()).subscribe();
+        limiter.limit(Mono.just("second")).subscribe(second::set);
+        assertThat(gauge("ai.engine.concurrency.inflight")).isEqualTo(1.0);
+        assertThat(gauge("ai.engine.concurrency.queue")).isEqualTo(1.0);
+        assertThat(second.get()).isNull();
+
+        first.tryEmitValue("first");
+
+        assertThat(second.get()).isEqualTo("second");
+        assertThat(gauge("ai.engine.concurrency.inflight")).isZero();
+        assertThat(gauge("ai.engine.concurrency.queue")).isZero();
+    }
+
+    @Test
+    void 대기열이_가득_차면_즉시_거절() {
+        EngineConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(5));
+        limiter.limit(Mono.never()).subscribe();
+        limiter.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("rejected")))
+                .expectError(EngineConcurrencyLimiter.LimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(rejected("queue-full")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 대기_기한이_지나면_거절() {
+        EngineConcurrencyLimiter limiter = limiter(1, 10, Duration.ofMillis(50));
+        limiter.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("late")))
+                .expectError(EngineConcurrencyLimiter.LimitExceededException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(rejected("queue-timeout")).isEqualTo(1.0);
+        assertThat(gauge("ai.engine.concurrency.queue")).isZero();
+    }
+
+    @Test
+    void 대기_중_취소하면_대기열에서_제거() {
+        EngineConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(5));
+        Sinks.One<String> first = Sinks.one();
+        limiter.limit(first.asMono()).subscribe();
+
+        Disposable waiting = limiter.limit(Mono.just("cancelled")).subscribe();
+        assertThat(gauge("ai.engine.concurrency.queue")).isEqualTo(1.0);
+        waiting.dispose();
+
+        assertThat(gauge("ai.engine.concurrency.queue")).isZero();
+        first.tryEmitValue("first");
+        assertThat(gauge("ai.engine.concurrency.inflight")).isZero();
+    }
+
+    @Test
+    void 실행_중_취소하면_허가_반환() {
+        EngineConcurrencyLimiter limiter = limiter(1, 10, Duration.ofSeconds(5));
+        Disposable running = limiter.limit(Mono.never()).subscribe();
+        assertThat(gauge("ai.engine.concurrency.inflight")).isEqualTo(1.0);
+
+        running.dispose();
+
+        assertThat(gauge("ai.engine.concurrency.inflight")).isZero();
+        StepVerifier.create(limiter.limit(Mono.just("next")))
+                .expectNext("next")
+                .verifyComplete();
+    }
+
+    @Test
+    void timeout이면_limit을_곱셈_감소() {
+        EngineConcurrencyLimiter limiter = limiter(10, 10, Duration.ofSeconds(5));
+
+        StepVerifier.create(limiter.limit(Mono.error(new TimeoutException())))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        assertThat(gauge("ai.engine.concurrency.limit")).isEqualTo(5.0);
+    }
+
+    @Test
+    void 응답_시간이_기준의_tolerance배를_넘으면_감소() {
+        EngineConcurrencyLimiter limiter = limiter(10, 10, Duration.ofSeconds(5));
+
+        // 첫 표본이 무부하 기준 RTT
+        limiter.limit(Mono.just("fast")).block();
+        assertThat(gauge("ai.engine.concurrency.limit")).isEqualTo(10.0);
+
+        limiter.limit(Mono.delay(Duration.ofMillis(50)).thenReturn("slow")).block();
+        assertThat(gauge("ai.engine.concurrency.limit")).isEqualTo(5.0);
+    }
+
+    @Test
+    void 허가를_절반_이상_쓰는_빠른_응답이면_가산_증가() {
+        // 마이크로초 단위 지터로 감소하지 않도록 tolerance를 크게
+        EngineConcurrencyLimiter limiter = new EngineConcurrencyLimiter(2, 1, 64, 10, Duration.ofSeconds(5), 1_000_000, 0.5, meterRegistry);
+
+        // inFlight(1) >= limit/2 인 빠른 호출 반복: 호출당 +1/limit
+        for (int i = 0; i < 20; i++) {
+            limiter.limit(Mono.just("fast")).block();
+        }
+
+        assertThat(gauge("ai.engine.concurrency.limit")).isGreaterThan(2.0);
+    }
+}
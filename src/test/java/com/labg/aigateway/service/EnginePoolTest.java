@@ -0,0 +1,114 @@
+package com.labg.aigateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnginePoolTest {
+
+    private static EnginePool pool(List<String> urls, boolean sessionAffinity, int ejectionThreshold) {
+        return new EnginePool(WebClient.create(), new SimpleMeterRegistry(), "http://engine-0", urls,
+                sessionAffinity, ejectionThreshold, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void 호출_안에서_걸린_timeout은_실패로_집계되어_제외() {
+        EnginePool pool = pool(List.of(), false, 2);
+        EnginePool.Endpoint endpoint = pool.endpoints().get(0);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(pool.execute(null, null, e -> Mono.never().timeout(Duration.ofMillis(10))))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(5));
+        }
+
+        assertThat(endpoint.ejected()).isTrue();
+        assertThat(endpoint.available()).isFalse();
+        assertThat(endpoint.inFlight()).isZero();
+    }
+
+    @Test
+    void 취소는_실패로_집계하지_않음() {
+        EnginePool pool = pool(List.of(), false, 1);
+        EnginePool.Endpoint endpoint = pool.endpoints().get(0);
+
+        Disposable call = pool.execute(null, null, e -> Mono.never()).subscribe();
+        assertThat(endpoint.inFlight()).isEqualTo(1);
+        call.dispose();
+
+        assertThat(endpoint.inFlight()).isZero();
+        assertThat(endpoint.ejected()).isFalse();
+    }
+
+    @Test
+    void 4xx는_엔드포인트_실패가_아님() {
+        EnginePool pool = pool(List.of(), false, 1);
+        EnginePool.Endpoint endpoint = pool.endpoints().get(0);
+
+        StepVerifier.create(pool.execute(null, null, e -> Mono.error(
+                        WebClientResponseException.create(HttpStatus.BAD_REQUEST.value(), "Bad Request", new HttpHeaders(), new byte[0], null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(endpoint.ejected()).isFalse();
+
+        StepVerifier.create(pool.execute(null, null, e -> Mono.error(
+                        WebClientResponseException.create(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error", new HttpHeaders(), new byte[0], null))))
+                .expectError(WebClientResponseException.class)
+                .verify();
+        assertThat(endpoint.ejected()).isTrue();
+    }
+
+    @Test
+    void 같은_used_집합을_공유하는_재시도는_다른_엔드포인트로() {
+        EnginePool pool = pool(List.of("http://engine-1", "http://engine-2"), false, 5);
+        Set<EnginePool.Endpoint> used = ConcurrentHashMap.newKeySet();
+        AtomicReference<EnginePool.Endpoint> first = new AtomicReference<>();
+        AtomicReference<EnginePool.Endpoint> second = new AtomicReference<>();
+
+        pool.execute(null, used, e -> Mono.fromRunnable(() -> first.set(e))).block();
+        pool.execute(null, used, e -> Mono.fromRunnable(() -> second.set(e))).block();
+
+        assertThat(second.get()).isNotSameAs(first.get());
+        assertThat(used).containsExactlyInAnyOrder(first.get(), second.get());
+    }
+
+    @Test
+    void 제외된_엔드포인트는_선택하지_않음() {
+        EnginePool pool = pool(List.of("http://engine-1", "http://engine-2"), false, 1);
+        EnginePool.Endpoint ejected = pool.endpoints().get(0);
+        StepVerifier.create(pool.execute(null, new HashSet<>(Set.of(pool.endpoints().get(1))), e -> Mono.error(new TimeoutException())))
+                .expectError(TimeoutException.class)
+                .verify();
+        assertThat(ejected.ejected()).isTrue();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose(null, null)).isSameAs(pool.endpoints().get(1));
+        }
+    }
+
+    @Test
+    void session_affinity는_같은_세션을_같은_엔드포인트로() {
+        EnginePool pool = pool(List.of("http://engine-1", "http://engine-2", "http://engine-3"), true, 5);
+
+        EnginePool.Endpoint chosen = pool.choose("session-a", null);
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.choose("session-a", null)).isSameAs(chosen);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.dto.JwtPrincipal;
+import com.labg.aigateway.util.JwtSecret;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-service-unit-tests-0123456789";
+
+    private static JwtService jwtService(String secretKey, long expTimeMillis) {
+        JwtSecret jwtSecret = new JwtSecret();
+        jwtSecret.setSecretKey(secretKey);
+        jwtSecret.setAccessTokenExpTime(expTimeMillis);
+
+        JwtService service = new JwtService(jwtSecret);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Test
+    void 유효한_토큰은_사용자_정보를_반환하고_재검증은_캐시에서() {
+        JwtService service = jwtService(SECRET, 60_000);
+        String token = service.generateToken("user-1", "alice");
+
+        Optional<JwtPrincipal> first = service.verify(token);
+        Optional<JwtPrincipal> second = service.verify(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().userId()).isEqualTo("user-1");
+        assertThat(first.get().username()).isEqualTo("alice");
+        // 두 번째 호출은 서명 검증 없이 같은 principal 반환
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @Test
+    void 서명이_변조된_토큰은_거절() {
+        JwtService service = jwtService(SECRET, 60_000);
+        String token = service.generateToken("user-1", "alice");
+        // 서명 첫 글자 변경 (마지막 글자는 패딩 비트만 바뀔 수 있음)
+        int signature = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signature);
+        String tampered = token.substring(0, signature) + (first == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThat(service.verify(tampered)).isEmpty();
+        assertThat(service.validateToken(tampered)).isFalse();
+    }
+
+    @Test
+    void 다른_키로_서명된_토큰은_거절() {
+        JwtService service = jwtService(SECRET, 60_000);
+        String foreign = jwtService("another-secret-key-for-jwt-service-unit-tests-987654", 60_000)
+                .generateToken("user-1", "alice");
+
+        assertThat(service.verify(foreign)).isEmpty();
+    }
+
+    @Test
+    void 만료된_토큰은_거절() {
+        JwtService service = jwtService(SECRET, -1_000);
+        String expired = service.generateToken("user-1", "alice");
+
+        assertThat(service.verify(expired)).isEmpty();
+    }
+
+    @Test
+    void 캐시된_토큰도_exp_이후에는_거절() throws InterruptedException {
+        JwtService service = jwtService(SECRET, 1_000);
+        String token = service.generateToken("user-1", "alice");
+        assertThat(service.verify(token)).isPresent();
+
+        Thread.sleep(2_100);
+
+        assertThat(service.verify(token)).isEmpty();
+    }
+
+    @Test
+    void 빈_토큰은_거절() {
+        JwtService service = jwtService(SECRET, 60_000);
+
+        assertThat(service.verify(null)).isEmpty();
+        assertThat(service.verify("")).isEmpty();
+        assertThat(service.verify("not-a-jwt")).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.util.CancelReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        // 요청마다 hedge 1회분 예산 적립, 최소 지연 10ms
+        hedger = new RequestHedger(new SimpleMeterRegistry(), true, List.of("query"), 100, 10, Duration.ofMillis(10));
+        // p95 계산에 필요한 표본 채우기
+        for (int i = 0; i < 32; i++) {
+            hedger.hedge("query", () -> Mono.just("warmup")).block();
+        }
+    }
+
+    /**
+     * 취소 시점의 원인을 기록하는 응답 없는 시도
+     */
+    private static Mono<String> hanging(Queue<CancelReason.Reason> cancelled, CountDownLatch subscribed) {
+        return Mono.deferContextual(context -> {
+            CancelReason cancel = CancelReason.childOf(context);
+            subscribed.countDown();
+            return Mono.<String>never().doOnCancel(() -> cancelled.add(cancel.reason()));
+        });
+    }
+
+    @Test
+    void hedge에서_진_시도는_HEDGE로_취소() {
+        Queue<CancelReason.Reason> cancelled = new ConcurrentLinkedQueue<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(hedger.hedge("query", () -> attempts.getAndIncrement() == 0
+                        ? hanging(cancelled, new CountDownLatch(1))
+                        : Mono.just("hedged")))
+                .expectNext("hedged")
+                .verifyComplete();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(cancelled).containsExactly(CancelReason.Reason.HEDGE);
+    }
+
+    @Test
+    void 바깥에서_취소하면_두_시도_모두_CLIENT() throws InterruptedException {
+        Queue<CancelReason.Reason> cancelled = new ConcurrentLinkedQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(2);
+
+        Disposable call = hedger.hedge("query", () -> hanging(cancelled, subscribed)).subscribe();
+        assertThat(subscribed.await(5, TimeUnit.SECONDS)).isTrue();
+        call.dispose();
+
+        assertThat(cancelled).containsExactlyInAnyOrder(CancelReason.Reason.CLIENT, CancelReason.Reason.CLIENT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.labg.aigateway.service;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SemanticCacheTest {
+
+    private final AiEngineClient aiEngineClient = mock(AiEngineClient.class);
+
+    @Test
+    void global_범위_HIT은_요청_세션_ID로_반환() {
+        when(aiEngineClient.generateEmbeddings(any())).thenReturn(Mono.just(new double[][]{{1.0, 0.0}}));
+        SemanticCache cache = semanticCache("global");
+        AiResponse stored = AiResponse.builder().success(true).message("답변").sessionId("session-a").build();
+
+        StepVerifier.create(cache.store("session-a", "질문", stored)).verifyComplete();
+
+        StepVerifier.create(cache.lookup("session-b", "질문"))
+                .assertNext(hit -> {
+                    assertThat(hit.getSessionId()).isEqualTo("session-b");
+                    assertThat(hit.getMessage()).isEqualTo("답변");
+                })
+                .verifyComplete();
+        // 저장된 원본은 변경하지 않음
+        assertThat(stored.getSessionId()).isEqualTo("session-a");
+    }
+
+    @Test
+    void session_범위는_다른_세션에서_HIT하지_않음() {
+        when(aiEngineClient.generateEmbeddings(any())).thenReturn(Mono.just(new double[][]{{1.0, 0.0}}));
+        SemanticCache cache = semanticCache("session");
+        AiResponse stored = AiResponse.builder().success(true).message("답변").sessionId("session-a").build();
+
+        StepVerifier.create(cache.store("session-a", "질문", stored)).verifyComplete();
+
+        StepVerifier.create(cache.lookup("session-b", "질문")).verifyComplete();
+    }
+
+    private SemanticCache semanticCache(String scope) {
+        return new SemanticCache(aiEngineClient, new SimpleMeterRegistry(), true, scope, 0.9,
+                Duration.ofMinutes(5), 10, 100, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,152 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.config.RedisConfig;
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.entity.ChatSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheServiceImplTest {
+
+    @SuppressWarnings("unchecked")
+    private final ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ReactiveValueOperations<String, Object> valueOps = mock(ReactiveValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        // 운영과 같은 값 코덱 (Smile)
+        ReactiveRedisTemplate<String, Object> codecTemplate = new RedisConfig()
+                .reactiveRedisTemplate(mock(ReactiveRedisConnectionFactory.class), "smile", 2048);
+        when(redisTemplate.getSerializationContext()).thenReturn(codecTemplate.getSerializationContext());
+        when(redisTemplate.listenToChannel(anyString())).thenReturn(Flux.never());
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.convertAndSend(anyString(), any())).thenReturn(Mono.just(1L));
+
+        cacheService = new CacheServiceImpl(redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(cacheService, "maxSize", 100L);
+        ReflectionTestUtils.setField(cacheService, "staleGrace", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cacheService, "refreshDelta", Duration.ofSeconds(5));
+        ReflectionTestUtils.invokeMethod(cacheService, "init");
+    }
+
+    @Test
+    void L1_세션_조회는_매번_새_객체() {
+        LocalDateTime accessed = LocalDateTime.of(2026, 10, 17, 12, 0);
+        ChatSession session = ChatSession.builder().sessionId("s1").userId("u1").lastAccessedAt(accessed).build();
+        when(valueOps.set(anyString(), any(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        cacheService.cacheSession(session).block();
+        // 저장 후 원본을 수정해도 캐시에는 영향 없음
+        session.setLastAccessedAt(accessed.plusHours(1));
+
+        ChatSession first = cacheService.getCachedSession("s1").block();
+        ChatSession second = cacheService.getCachedSession("s1").block();
+
+        assertThat(first).isNotSameAs(second).isNotSameAs(session);
+        first.setLastAccessedAt(accessed.plusHours(2));
+        first.setSummary("다른 요청이 수정한 요약");
+
+        assertThat(second.getLastAccessedAt()).isEqualTo(accessed);
+        assertThat(cacheService.getCachedSession("s1").block().getSummary()).isNull();
+    }
+
+    @Test
+    void L2_HIT_후_L1_조회도_새_객체() {
+        AiResponse fromRedis = AiResponse.builder().success(true).message("답변").sessionId("s1").build();
+        when(valueOps.get(anyString())).thenReturn(Mono.just(fromRedis));
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.just(Duration.ofMinutes(5)));
+
+        AiResponse first = cacheService.getCachedResponse("s1", "질문").block();
+        AiResponse second = cacheService.getCachedResponse("s1", "질문").block();
+
+        assertThat(first).isSameAs(fromRedis);
+        assertThat(second).isNotSameAs(first);
+        first.setMessage("수정됨");
+        assertThat(cacheService.getCachedResponse("s1", "질문").block().getMessage()).isEqualTo("답변");
+    }
+
+    @Test
+    void 계층별_메트릭은_미리_등록되고_조회마다_증가() {
+        int registered = meterRegistry.find("cache.tier.requests").counters().size();
+        assertThat(registered).isEqualTo(12);
+
+        when(valueOps.get(anyString())).thenReturn(Mono.empty());
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.just(Duration.ZERO));
+        cacheService.getCachedResponse("s1", "질문").block();
+        cacheService.getCachedResponse("s1", "질문").block();
+
+        assertThat(meterRegistry.find("cache.tier.requests").counters()).hasSize(registered);
+        assertThat(meterRegistry.get("cache.tier.requests")
+                .tags("cache", "query", "tier", "l2", "result", "miss").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void 쿼리_캐시_무효화는_스크립트_한_번으로_인덱스와_키를_삭제하고_L1도_무효화() {
+        AiResponse fromRedis = AiResponse.builder().success(true).message("답변").sessionId("s1").build();
+        when(valueOps.get(anyString())).thenReturn(Mono.just(fromRedis));
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.just(Duration.ofMinutes(5)));
+        cacheService.getCachedResponse("s1", "질문").block();
+
+        String key = cacheService.queryCacheKey("s1", "질문");
+        doReturn(Flux.just(key, "query:s1:expired"))
+                .when(redisTemplate).execute(any(RedisScript.class), eq(List.of("query-index:s1")));
+
+        assertThat(cacheService.invalidateQueryCache("s1").block()).isTrue();
+
+        verify(redisTemplate, never()).opsForSet();
+        verify(redisTemplate).convertAndSend(eq("cache:invalidate"), argThat(payload -> String.valueOf(payload).endsWith("|" + key)));
+        // L1이 비었으므로 다시 L2 조회
+        when(valueOps.get(anyString())).thenReturn(Mono.empty());
+        assertThat(cacheService.getCachedResponse("s1", "질문").block()).isNull();
+    }
+
+    @Test
+    void 만료_임박_항목은_조기_만료로_MISS_처리하고_갱신_요청_수_집계() {
+        AiResponse fromRedis = AiResponse.builder().success(true).message("답변").sessionId("s1").build();
+        when(valueOps.get(anyString())).thenReturn(Mono.just(fromRedis));
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.just(Duration.ofMillis(1)));
+        // 남은 1ms ≤ 1시간 × -ln(U) (U ≤ 0.9999997)
+        ReflectionTestUtils.setField(cacheService, "refreshDelta", Duration.ofHours(1));
+
+        assertThat(cacheService.getCachedResponse("s1", "질문").block()).isNull();
+        assertThat(meterRegistry.get("cache.refresh.ahead").tag("cache", "query").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 만료가_멀면_조기_만료_없이_HIT() {
+        AiResponse fromRedis = AiResponse.builder().success(true).message("답변").sessionId("s1").build();
+        when(valueOps.get(anyString())).thenReturn(Mono.just(fromRedis));
+        when(redisTemplate.getExpire(anyString())).thenReturn(Mono.just(Duration.ofMinutes(5)));
+        ReflectionTestUtils.setField(cacheService, "refreshDelta", Duration.ofMillis(1));
+
+        assertThat(cacheService.getCachedResponse("s1", "질문").block()).isNotNull();
+        assertThat(meterRegistry.get("cache.refresh.ahead").tag("cache", "query").counter().count()).isZero();
+    }
+}
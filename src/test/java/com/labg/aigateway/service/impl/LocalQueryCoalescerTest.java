@@ -0,0 +1,122 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.service.CacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalQueryCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger engineCalls = new AtomicInteger();
+    private final AtomicInteger engineCancels = new AtomicInteger();
+
+    private LocalQueryCoalescer coalescer;
+    private Sinks.One<AiResponse> engine;
+
+    @BeforeEach
+    void setUp() {
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.queryCacheKey(anyString(), anyString())).thenReturn("query:s1:hash");
+        coalescer = new LocalQueryCoalescer(cacheService, meterRegistry);
+        engine = Sinks.one();
+    }
+
+    /**
+     * 호출/취소 횟수를 세는 엔진 호출 (결과는 engine sink로 제어)
+     */
+    private Supplier<Mono<AiResponse>> engineCall() {
+        return () -> {
+            engineCalls.incrementAndGet();
+            Sinks.One<AiResponse> current = engine;
+            return current.asMono().doOnCancel(engineCancels::incrementAndGet);
+        };
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("ai.engine.query.inflight").gauge().value();
+    }
+
+    private double coalescing(String result) {
+        return meterRegistry.get("ai.engine.query.coalescing").tag("result", result).counter().count();
+    }
+
+    @Test
+    void 동일_질의는_엔진을_한_번만_호출하고_결과_공유() {
+        AtomicReference<AiResponse> first = new AtomicReference<>();
+        AtomicReference<AiResponse> second = new AtomicReference<>();
+
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe(first::set);
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe(second::set);
+        AiResponse response = AiResponse.builder().success(true).message("hi").sessionId("s1").build();
+        engine.tryEmitValue(response);
+
+        assertThat(engineCalls.get()).isEqualTo(1);
+        assertThat(first.get()).isSameAs(response);
+        assertThat(second.get()).isSameAs(response);
+        assertThat(inFlight()).isZero();
+        assertThat(coalescing("coalesced")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 마지막_대기자가_취소하면_엔진_호출_취소_및_키_제거() {
+        Disposable first = coalescer.coalesce("s1", "hello", engineCall()).subscribe();
+        Disposable second = coalescer.coalesce("s1", "hello", engineCall()).subscribe();
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        // 대기자가 남아 있으면 엔진 호출 유지
+        first.dispose();
+        assertThat(engineCancels.get()).isZero();
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        second.dispose();
+        assertThat(engineCancels.get()).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+        assertThat(coalescing("abandoned")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 포기된_호출_이후의_요청은_새_호출_시작() {
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe().dispose();
+        assertThat(engineCancels.get()).isEqualTo(1);
+
+        engine = Sinks.one();
+        AtomicReference<AiResponse> late = new AtomicReference<>();
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe(late::set);
+        AiResponse response = AiResponse.builder().success(true).message("hi").sessionId("s1").build();
+        engine.tryEmitValue(response);
+
+        assertThat(engineCalls.get()).isEqualTo(2);
+        assertThat(late.get()).isSameAs(response);
+        assertThat(coalescing("originated")).isEqualTo(2.0);
+    }
+
+    @Test
+    void 에러도_모든_대기자에게_공유() {
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<Throwable> second = new AtomicReference<>();
+
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe(value -> { }, first::set);
+        coalescer.coalesce("s1", "hello", engineCall()).subscribe(value -> { }, second::set);
+        IllegalStateException error = new IllegalStateException("engine failed");
+        engine.tryEmitError(error);
+
+        assertThat(engineCalls.get()).isEqualTo(1);
+        assertThat(first.get()).isSameAs(error);
+        assertThat(second.get()).isSameAs(error);
+        assertThat(inFlight()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.service.RateLimiter.Decision;
+import com.labg.aigateway.service.RateLimiter.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(1000, Duration.ofMinutes(10));
+
+    private Decision acquire(String key, Rule rule) {
+        return rateLimiter.tryAcquire(key, rule).block();
+    }
+
+    @Test
+    void 용량만큼_허용_후_거절하고_다음_토큰까지_대기_시간_반환() {
+        // 초당 1개 충전
+        Rule rule = new Rule("chat", 3, 1.0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(acquire("chat:user-a", rule).allowed()).isTrue();
+        }
+        Decision rejected = acquire("chat:user-a", rule);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isBetween(1L, 1001L);
+    }
+
+    @Test
+    void 시간이_지나면_충전() throws InterruptedException {
+        // 초당 50개 충전 (20ms마다 1개)
+        Rule rule = new Rule("chat", 1, 50.0);
+
+        assertThat(acquire("chat:user-a", rule).allowed()).isTrue();
+        assertThat(acquire("chat:user-a", rule).allowed()).isFalse();
+
+        Thread.sleep(60);
+        assertThat(acquire("chat:user-a", rule).allowed()).isTrue();
+    }
+
+    @Test
+    void 버킷은_키별로_분리() {
+        Rule rule = new Rule("chat", 1, 0.001);
+
+        assertThat(acquire("chat:user-a", rule).allowed()).isTrue();
+        assertThat(acquire("chat:user-a", rule).allowed()).isFalse();
+        assertThat(acquire("chat:user-b", rule).allowed()).isTrue();
+    }
+
+    @Test
+    void 동시_요청에서도_용량보다_많이_허용하지_않음() throws Exception {
+        // 테스트 시간 동안 사실상 충전 없음
+        Rule rule = new Rule("chat", 100, 0.001);
+        int threads = 8;
+        int attemptsPerThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (acquire("chat:shared", rule).allowed()) allowed++;
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(total).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.entity.Message;
+import com.labg.aigateway.entity.MessageBucket;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MongoMessageStoreTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    @Mock
+    private MongoConverter converter;
+
+    private MongoMessageStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MongoMessageStore(mongoTemplate, 50);
+    }
+
+    @Test
+    void findRecent_버킷이_limit보다_짧으면_이전_형식_메시지를_앞에_합침() {
+        when(mongoTemplate.find(any(Query.class), eq(MessageBucket.class)))
+                .thenReturn(Flux.just(bucket(message(0L, "새 메시지"))));
+        stubLegacy("이전 질문", "이전 답변");
+
+        StepVerifier.create(store.findRecent("s1", 10))
+                .assertNext(messages -> assertThat(messages).extracting(Message::getContent)
+                        .containsExactly("이전 질문", "이전 답변", "새 메시지"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findRecent_합친_결과도_최근_limit개만_반환() {
+        when(mongoTemplate.find(any(Query.class), eq(MessageBucket.class)))
+                .thenReturn(Flux.just(bucket(message(0L, "새 메시지"))));
+        stubLegacy("이전 질문", "이전 답변");
+
+        StepVerifier.create(store.findRecent("s1", 2))
+                .assertNext(messages -> assertThat(messages).extracting(Message::getContent)
+                        .containsExactly("이전 답변", "새 메시지"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findRecent_버킷만으로_limit을_채우면_세션_문서를_읽지_않음() {
+        when(mongoTemplate.find(any(Query.class), eq(MessageBucket.class)))
+                .thenReturn(Flux.just(bucket(message(0L, "a"), message(1L, "b"))));
+
+        StepVerifier.create(store.findRecent("s1", 2))
+                .assertNext(messages -> assertThat(messages).extracting(Message::getContent).containsExactly("a", "b"))
+                .verifyComplete();
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Document.class), any(String.class));
+    }
+
+    @Test
+    void findAll_이전_형식_메시지부터_반환() {
+        when(mongoTemplate.find(any(Query.class), eq(MessageBucket.class)))
+                .thenReturn(Flux.just(bucket(message(0L, "새 메시지"))));
+        stubLegacy("이전 질문");
+
+        StepVerifier.create(store.findAll("s1").map(Message::getContent))
+                .expectNext("이전 질문", "새 메시지")
+                .verifyComplete();
+    }
+
+    private void stubLegacy(String... contents) {
+        List<Document> raw = java.util.Arrays.stream(contents).map(content -> new Document("content", content)).toList();
+        when(mongoTemplate.getCollectionName(any())).thenReturn("chat_sessions");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("chat_sessions")))
+                .thenReturn(Mono.just(new Document("messages", raw)));
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(eq(Message.class), any(Document.class)))
+                .thenAnswer(invocation -> message(null, invocation.<Document>getArgument(1).getString("content")));
+    }
+
+    private static MessageBucket bucket(Message... messages) {
+        return MessageBucket.builder().seq(0).messages(List.of(messages)).build();
+    }
+
+    private static Message message(Long seq, String content) {
+        return Message.builder().seq(seq).role("user").content(content).build();
+    }
+}
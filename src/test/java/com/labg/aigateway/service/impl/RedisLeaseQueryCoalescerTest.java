@@ -0,0 +1,142 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.dto.response.AiResponse;
+import com.labg.aigateway.service.CacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisLeaseQueryCoalescerTest {
+
+    private static final String LEASE_KEY = "lease:query:s1:hash";
+    private static final String RESULT_CHANNEL = "lease-result:" + LEASE_KEY;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger engineCalls = new AtomicInteger();
+    private final AiResponse engineResponse = AiResponse.builder().success(true).message("local").sessionId("s1").build();
+
+    @SuppressWarnings("unchecked")
+    private final ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ReactiveValueOperations<String, Object> valueOps = mock(ReactiveValueOperations.class);
+
+    private RedisLeaseQueryCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        CacheService cacheService = mock(CacheService.class);
+        when(cacheService.queryCacheKey(anyString(), anyString())).thenReturn("query:s1:hash");
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        doReturn(Flux.just(1L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        doReturn(Mono.just(1L)).when(redisTemplate).convertAndSend(anyString(), any());
+        coalescer = new RedisLeaseQueryCoalescer(cacheService, meterRegistry, redisTemplate,
+                Duration.ofSeconds(2), Duration.ofMillis(10));
+    }
+
+    private Supplier<Mono<AiResponse>> engineCall() {
+        return () -> {
+            engineCalls.incrementAndGet();
+            return Mono.just(engineResponse);
+        };
+    }
+
+    private void leaseAcquired(boolean acquired) {
+        doReturn(Mono.just(acquired)).when(valueOps).setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class));
+    }
+
+    private double remoteCoalesced() {
+        return meterRegistry.get("ai.engine.query.coalescing").tag("result", "remote-coalesced").counter().count();
+    }
+
+    @Test
+    void lease_획득시_직접_호출_후_결과_발행_및_lease_해제() {
+        leaseAcquired(true);
+
+        StepVerifier.create(coalescer.coalesce("s1", "hello", engineCall()))
+                .expectNext(engineResponse)
+                .verifyComplete();
+
+        assertThat(engineCalls.get()).isEqualTo(1);
+        verify(redisTemplate).convertAndSend(RESULT_CHANNEL, engineResponse);
+        verify(redisTemplate, timeout(1000)).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyList());
+    }
+
+    @Test
+    void 실패_응답은_발행하지_않음() {
+        leaseAcquired(true);
+        AiResponse failure = AiResponse.builder().success(false).message("error").build();
+
+        StepVerifier.create(coalescer.coalesce("s1", "hello", () -> Mono.just(failure)))
+                .expectNext(failure)
+                .verifyComplete();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void lease_보유_중이면_결과_채널의_응답을_사용() {
+        leaseAcquired(false);
+        AiResponse remote = AiResponse.builder().success(true).message("remote").sessionId("s1").build();
+        doReturn(Flux.just(new ReactiveSubscription.ChannelMessage<>(RESULT_CHANNEL, remote)))
+                .when(redisTemplate).listenToChannel(RESULT_CHANNEL);
+        doReturn(Mono.just(true)).when(redisTemplate).hasKey(LEASE_KEY);
+
+        StepVerifier.create(coalescer.coalesce("s1", "hello", engineCall()))
+                .expectNext(remote)
+                .verifyComplete();
+
+        assertThat(engineCalls.get()).isZero();
+        assertThat(remoteCoalesced()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 결과_없이_lease가_해제되면_직접_호출() {
+        leaseAcquired(false);
+        doReturn(Flux.never()).when(redisTemplate).listenToChannel(RESULT_CHANNEL);
+        doReturn(Mono.just(true), Mono.just(false)).when(redisTemplate).hasKey(LEASE_KEY);
+
+        StepVerifier.create(coalescer.coalesce("s1", "hello", engineCall()))
+                .expectNext(engineResponse)
+                .verifyComplete();
+
+        assertThat(engineCalls.get()).isEqualTo(1);
+        assertThat(remoteCoalesced()).isZero();
+    }
+
+    @Test
+    void Redis_장애시_lease_없이_직접_호출() {
+        doReturn(Mono.error(new RedisConnectionFailureException("down")))
+                .when(valueOps).setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class));
+
+        StepVerifier.create(coalescer.coalesce("s1", "hello", engineCall()))
+                .expectNext(engineResponse)
+                .verifyComplete();
+
+        assertThat(engineCalls.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.service.RateLimiter.Decision;
+import com.labg.aigateway.service.RateLimiter.Rule;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RedisRateLimiterTest {
+
+    @SuppressWarnings("unchecked")
+    private final ReactiveRedisTemplate<String, Object> redisTemplate = mock(ReactiveRedisTemplate.class);
+    private final RedisRateLimiter rateLimiter = new RedisRateLimiter(redisTemplate);
+    private final Rule rule = new Rule("chat", 20, 20.0 / 60);
+
+    @Test
+    void 스크립트가_0을_반환하면_허용() {
+        doReturn(Flux.just(0L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+
+        Decision decision = rateLimiter.tryAcquire("chat:user-a", rule).block();
+
+        assertThat(decision.allowed()).isTrue();
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:chat:user-a")), eq(List.of(20L, 20.0 / 60)));
+    }
+
+    @Test
+    void 스크립트가_대기_시간을_반환하면_거절() {
+        doReturn(Flux.just(1500L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+
+        Decision decision = rateLimiter.tryAcquire("chat:user-a", rule).block();
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterMillis()).isEqualTo(1500L);
+    }
+
+    @Test
+    void Redis_장애_시_허용_fail_open() {
+        doReturn(Flux.error(new RedisConnectionFailureException("connection refused")))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+
+        Decision decision = rateLimiter.tryAcquire("chat:user-a", rule).block();
+
+        assertThat(decision.allowed()).isTrue();
+    }
+}
@@ -0,0 +1,142 @@
+package com.labg.aigateway.service.impl;
+
+import com.labg.aigateway.entity.ChatSession;
+import com.labg.aigateway.entity.Message;
+import com.labg.aigateway.repository.ChatSessionRepository;
+import com.labg.aigateway.service.CacheService;
+import com.labg.aigateway.service.ConversationSummarizer;
+import com.labg.aigateway.service.MessageStore;
+import com.labg.aigateway.service.SessionTouchBuffer;
+import com.labg.aigateway.service.TokenCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionServiceImplTest {
+
+    @Mock
+    private ChatSessionRepository sessionRepository;
+    @Mock
+    private CacheService cacheService;
+    @Mock
+    private SessionTouchBuffer sessionTouchBuffer;
+    @Mock
+    private MessageStore messageStore;
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+    @Mock
+    private TokenCounter tokenCounter;
+    @Mock
+    private ConversationSummarizer conversationSummarizer;
+
+    @InjectMocks
+    private SessionServiceImpl sessionService;
+
+    @Test
+    void getHistory_본인_세션이면_메시지_반환() {
+        when(sessionRepository.findBySessionId("s1")).thenReturn(Mono.just(session("s1", "user-a")));
+        when(messageStore.findAll("s1")).thenReturn(Flux.just(Message.userMessage("안녕")));
+
+        StepVerifier.create(sessionService.getHistory("s1", "user-a"))
+                .assertNext(message -> assertThat(message.getContent()).isEqualTo("안녕"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getHistory_다른_사용자_세션이면_404() {
+        when(sessionRepository.findBySessionId("s1")).thenReturn(Mono.just(session("s1", "user-a")));
+
+        StepVerifier.create(sessionService.getHistory("s1", "user-b"))
+                .expectErrorSatisfies(error -> assertNotFound(error))
+                .verify();
+        verify(messageStore, never()).findAll(any());
+    }
+
+    @Test
+    void getHistory_소유자_없는_세션은_누구에게도_반환하지_않음() {
+        when(sessionRepository.findBySessionId("s1")).thenReturn(Mono.just(session("s1", null)));
+
+        StepVerifier.create(sessionService.getHistory("s1", "user-a"))
+                .expectErrorSatisfies(error -> assertNotFound(error))
+                .verify();
+    }
+
+    @Test
+    void getHistory_세션이_없으면_404() {
+        when(sessionRepository.findBySessionId("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(sessionService.getHistory("missing", "user-a"))
+                .expectErrorSatisfies(error -> assertNotFound(error))
+                .verify();
+    }
+
+    @Test
+    void getOrCreateSession_다른_사용자_세션이면_새_세션_생성() {
+        when(cacheService.getCachedSession("s1")).thenReturn(Mono.just(session("s1", "user-a")));
+        when(sessionRepository.findBySessionId("s1")).thenReturn(Mono.empty());
+        when(sessionRepository.save(any(ChatSession.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(cacheService.cacheSession(any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(sessionService.getOrCreateSession("s1", "user-b"))
+                .assertNext(session -> {
+                    assertThat(session.getSessionId()).isNotEqualTo("s1");
+                    assertThat(session.getUserId()).isEqualTo("user-b");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void addMessagePair_세션_캐시_갱신_후_요약_시작() {
+        ChatSession saved = session("s1", "user-a");
+        saved.setMessageCount(2L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(ChatSession.class)))
+                .thenReturn(Mono.just(saved));
+        when(messageStore.append(eq("s1"), anyLong(), anyList())).thenReturn(Mono.empty());
+        when(cacheService.cacheSession(saved)).thenReturn(Mono.just(true));
+        when(tokenCounter.count(any())).thenReturn(1);
+
+        StepVerifier.create(sessionService.addMessagePair("s1", Message.userMessage("질문"), Message.assistantMessage("답변", null)))
+                .expectNext(saved)
+                .verifyComplete();
+
+        // 요약 결과의 세션 캐시 쓰기가 요약 전 세션 쓰기보다 뒤에 오도록
+        InOrder order = inOrder(cacheService, conversationSummarizer);
+        order.verify(cacheService).cacheSession(saved);
+        order.verify(conversationSummarizer).maybeSummarize(saved);
+    }
+
+    private static void assertNotFound(Throwable error) {
+        assertThat(error).isInstanceOf(ResponseStatusException.class);
+        assertThat(((ResponseStatusException) error).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private static ChatSession session(String sessionId, String userId) {
+        return ChatSession.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.labg.aigateway.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineTest {
+
+    /**
+     * 취소 시점의 원인을 기록하는 호출 (AiEngineClient.trackCancellation과 같은 방식)
+     */
+    private static <T> Mono<T> recordingCancel(AtomicReference<CancelReason.Reason> cancelled) {
+        return Mono.deferContextual(context -> {
+            CancelReason cancel = CancelReason.childOf(context);
+            return Mono.<T>never().doOnCancel(() -> cancelled.set(cancel.reason()));
+        });
+    }
+
+    @Test
+    void 단계_timeout으로_취소되면_deadline() {
+        AtomicReference<CancelReason.Reason> cancelled = new AtomicReference<>();
+
+        StepVerifier.create(Deadline.bound(recordingCancel(cancelled), Duration.ofMillis(20)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(cancelled.get()).isEqualTo(CancelReason.Reason.DEADLINE);
+    }
+
+    @Test
+    void 요청_마감으로_취소되면_deadline() {
+        AtomicReference<CancelReason.Reason> cancelled = new AtomicReference<>();
+
+        // 바깥 마감이 안쪽 단계 timeout보다 먼저 만료
+        Mono<Object> call = Deadline.bound(Deadline.bound(recordingCancel(cancelled), Duration.ofSeconds(30)))
+                .contextWrite(context -> context.put(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofMillis(20))));
+
+        StepVerifier.create(call)
+                .expectError(Deadline.DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(cancelled.get()).isEqualTo(CancelReason.Reason.DEADLINE);
+    }
+
+    @Test
+    void 바깥에서_구독을_취소하면_client() {
+        AtomicReference<CancelReason.Reason> cancelled = new AtomicReference<>();
+
+        Disposable subscription = Deadline.bound(recordingCancel(cancelled), Duration.ofSeconds(30)).subscribe();
+        subscription.dispose();
+
+        assertThat(cancelled.get()).isEqualTo(CancelReason.Reason.CLIENT);
+    }
+
+    @Test
+    void 스트림_유휴_timeout으로_취소되면_deadline() {
+        AtomicReference<CancelReason.Reason> cancelled = new AtomicReference<>();
+        Flux<Object> stream = Flux.deferContextual(context -> {
+            CancelReason cancel = CancelReason.childOf(context);
+            return Flux.concat(Flux.just((Object) "token"), Flux.never())
+                    .doOnCancel(() -> cancelled.set(cancel.reason()));
+        });
+
+        StepVerifier.create(Deadline.boundFirst(stream, Duration.ofMillis(20)))
+                .expectNext("token")
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(cancelled.get()).isEqualTo(CancelReason.Reason.DEADLINE);
+    }
+
+    @Test
+    void 다음_시도가_남은_시간에_들어가지_않으면_마감_초과로_변환() {
+        Context context = Context.of(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofSeconds(3)));
+        TimeoutException error = new TimeoutException();
+
+        // 두 번째 재시도 대기(2s) + 최소 실행 시간(2s) > 남은 3s
+        assertThat(Deadline.retryGuard(context, e -> Duration.ofSeconds(4)).apply(error))
+                .isInstanceOf(Deadline.DeadlineExceededException.class)
+                .hasCause(error);
+        // 첫 재시도 대기(1s) + 최소 실행 시간(2s) ≤ 남은 3s
+        assertThat(Deadline.retryGuard(context, e -> Duration.ofMillis(2500)).apply(error)).isSameAs(error);
+    }
+
+    @Test
+    void 재시도하지_않는_에러는_그대로_전달() {
+        Context context = Context.of(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofMillis(10)));
+        IllegalStateException error = new IllegalStateException();
+
+        assertThat(Deadline.retryGuard(context, e -> null).apply(error)).isSameAs(error);
+        assertThat(Deadline.retryGuard(Context.empty(), e -> Duration.ofSeconds(4)).apply(error)).isSameAs(error);
+    }
+}
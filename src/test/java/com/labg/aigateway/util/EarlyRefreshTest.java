@@ -0,0 +1,43 @@
+package com.labg.aigateway.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EarlyRefreshTest {
+
+    // U = 0.5 → 기준 = delta × ln 2 (delta 10초 → 약 6.93초)
+    private final Context context = Context.of(EarlyRefresh.CONTEXT_KEY, 0.5);
+    private final Duration delta = Duration.ofSeconds(10);
+
+    @Test
+    void 남은_TTL이_기준_이하이면_갱신() {
+        assertThat(EarlyRefresh.shouldRefresh(context, Duration.ofSeconds(6), delta)).isTrue();
+    }
+
+    @Test
+    void 남은_TTL이_기준보다_길면_유지() {
+        assertThat(EarlyRefresh.shouldRefresh(context, Duration.ofSeconds(8), delta)).isFalse();
+    }
+
+    @Test
+    void 만료됐거나_TTL을_모르면_갱신하지_않음() {
+        assertThat(EarlyRefresh.shouldRefresh(context, Duration.ZERO, delta)).isFalse();
+        assertThat(EarlyRefresh.shouldRefresh(context, null, delta)).isFalse();
+    }
+
+    @Test
+    void 같은_요청의_난수는_조회마다_같음() {
+        Context drawn = EarlyRefresh.draw(Context.empty());
+        double draw = drawn.get(EarlyRefresh.CONTEXT_KEY);
+
+        assertThat(draw).isGreaterThan(0.0).isLessThanOrEqualTo(1.0);
+        boolean first = EarlyRefresh.shouldRefresh(drawn, Duration.ofSeconds(3), delta);
+        for (int i = 0; i < 10; i++) {
+            assertThat(EarlyRefresh.shouldRefresh(drawn, Duration.ofSeconds(3), delta)).isEqualTo(first);
+        }
+    }
+}